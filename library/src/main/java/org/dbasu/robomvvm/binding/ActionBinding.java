@@ -35,52 +35,79 @@ import org.dbasu.robomvvm.componentmodel.Component;
 import org.dbasu.robomvvm.componentmodel.EventArg;
 import org.dbasu.robomvvm.componentmodel.EventListener;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
- * Package private class implementing the logic for creating an action binding.
+ * Package private class implementing the logic for creating an action binding. When the binding has a
+ * {@link org.dbasu.robomvvm.binding.RateLimit}, the action is invoked with the latest event argument.
  */
 class ActionBinding extends Binding {
 
     private final Class<? extends EventArg> eventType;
     private final String action;
     private final EventListener eventListener;
+    private final RateLimiter limiter;
+
+    private final AtomicReference<EventArg> pendingArgs = new AtomicReference<EventArg>();
 
-    ActionBinding(Component source, Component target, Class<? extends EventArg> eventType, final String action) {
+    ActionBinding(Component source, Component target, Class<? extends EventArg> eventType, final String action, RateLimit rateLimit) {
         super(source, target);
 
         this.eventType = eventType;
         this.action = action;
 
+        if(rateLimit.isLimited()) {
+            limiter = new RateLimiter(rateLimit, new Runnable() {
+                @Override
+                public void run() {
+                    EventArg args = pendingArgs.getAndSet(null);
+
+                    if(args != null && isBound()) {
+                        invokeAction(args);
+                    }
+                }
+            });
+        } else {
+            limiter = null;
+        }
+
         eventListener = new EventListener(eventType) {
             @Override
             public void invoke(EventArg args) {
 
-                Component target = getTarget();
-                if(target == null) return;
+                if(limiter != null) {
+                    pendingArgs.set(args);
+                    limiter.trigger();
+                    return;
+                }
 
-                target.invokeAction(action, args);
+                invokeAction(args);
             }
         };
     }
 
-    @Override
-    protected void bind() {
+    private void invokeAction(EventArg args) {
 
-        Component source = getSource();
-        if(source != null) {
-            source.addEventListener(eventListener);
-        }
+        Component target = getTarget();
+        if(target == null) return;
 
-        super.bind();
+        target.invokeAction(action, args);
+    }
+
+    @Override
+    protected void attachSource(Component source) {
+        addListener(source, eventListener);
+        super.attachSource(source);
     }
 
     @Override
-    public void unbind() {
+    protected void detachSource(Component source) {
 
-        Component source = getSource();
-        if(source != null) {
-            source.removeEventListener(eventListener);
+        if(limiter != null) {
+            limiter.flush();
         }
 
-        super.unbind();
+        removeListener(source, eventListener);
+        super.detachSource(source);
     }
 }
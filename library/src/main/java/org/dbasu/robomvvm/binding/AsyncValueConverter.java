@@ -0,0 +1,152 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.binding;
+
+import android.os.Process;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A value converter whose source to target conversion is too slow to run on the UI thread, such as decoding an
+ * image or querying a database. A property binding runs {@link #convertToTarget(Object)} on the executor of the
+ * converter, and applies the result to the target on the UI thread. While a conversion is running, the target can
+ * show a placeholder value. When the source changes before a conversion finishes, the running conversion is cancelled
+ * by interrupting it, and only the result of the latest conversion is applied. <br/><br/>
+ *
+ * {@link #convertToSource(Object)} is still called on the thread that changes the target.
+ *
+ * @param <S>
+ *          The type of the source property.
+ * @param <T>
+ *          The type of the target property.
+ */
+public abstract class AsyncValueConverter<S, T> implements ValueConverter<S, T> {
+
+    private static ExecutorService defaultExecutor = null;
+
+    private final ExecutorService executor;
+    private final boolean hasPlaceholder;
+    private final T placeholder;
+
+    /**
+     * Constructs an asynchronous value converter that runs on a shared background executor, and shows no placeholder.
+     */
+    protected AsyncValueConverter() {
+        this(getDefaultExecutor());
+    }
+
+    /**
+     * Constructs an asynchronous value converter that runs on the supplied executor, and shows no placeholder.
+     * @param executor
+     *          The executor to run conversions on.
+     */
+    protected AsyncValueConverter(ExecutorService executor) {
+        this.executor = Preconditions.checkNotNull(executor);
+        this.hasPlaceholder = false;
+        this.placeholder = null;
+    }
+
+    /**
+     * Constructs an asynchronous value converter that runs on the supplied executor, and applies a placeholder value
+     * to the target while a conversion is running.
+     * @param executor
+     *          The executor to run conversions on.
+     * @param placeholder
+     *          The placeholder value. May be null.
+     */
+    protected AsyncValueConverter(ExecutorService executor, T placeholder) {
+        this.executor = Preconditions.checkNotNull(executor);
+        this.hasPlaceholder = true;
+        this.placeholder = placeholder;
+    }
+
+    /**
+     * Gets the executor that conversions run on.
+     * @return
+     *          The executor.
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Checks whether a placeholder value is applied to the target while a conversion is running.
+     * @return
+     *          True if the converter has a placeholder. False otherwise.
+     */
+    public boolean hasPlaceholder() {
+        return hasPlaceholder;
+    }
+
+    /**
+     * Gets the placeholder value.
+     * @return
+     *          The placeholder value.
+     */
+    public T getPlaceholder() {
+        return placeholder;
+    }
+
+    /**
+     * Gets the shared background executor used by asynchronous value converters that are not given an executor.
+     * @return
+     *          The shared executor.
+     */
+    public static synchronized ExecutorService getDefaultExecutor() {
+
+        if(defaultExecutor == null) {
+            defaultExecutor = Executors.newFixedThreadPool(2, new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+
+                    Thread thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            runnable.run();
+                        }
+                    }, "RoboMVVM AsyncValueConverter");
+
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        return defaultExecutor;
+    }
+}
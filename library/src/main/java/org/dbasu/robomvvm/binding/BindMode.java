@@ -39,23 +39,36 @@ public enum BindMode {
     /**
      * Makes a one-way binding where the target property is set whenever the source property changes.
      */
-    SOURCE_TO_TARGET(true, false),
+    SOURCE_TO_TARGET(true, false, false, false),
 
     /**
      * Makes a one-way binding where the source property is set whenever the target property changes.
      */
-    TARGET_TO_SOURCE(false, true),
+    TARGET_TO_SOURCE(false, true, false, false),
 
     /**
      * Makes a two-way binding that keeps the source property and target property in complete sync.
      */
-    BIDIRECTIONAL(true, true);
+    BIDIRECTIONAL(true, true, false, false),
+
+    /**
+     * Makes a binding that sets the target property to the value of the source property once, when the binding is made
+     * or retargeted. The binding holds no listeners, so later changes to either property are not propagated. Useful for
+     * labels, icons and other values that never change.
+     */
+    ONE_TIME(true, false, true, false),
+
+    /**
+     * Makes a binding like {@link #ONE_TIME}, but reads the source property only when the target is about to be drawn
+     * for the first time. Targets that are never drawn never read their source. Targets that are not views are set immediately.
+     */
+    LAZY_ONE_TIME(true, false, true, true);
 
 
     /**
      * Returns whether this bind mode can bind the source property to the target property.
      * @return
-     * Returns true for {@link #SOURCE_TO_TARGET} and {@link #BIDIRECTIONAL}.
+     * Returns true for every bind mode except {@link #TARGET_TO_SOURCE}.
      */
     public boolean canBindSourceToTarget() {
         return sourceToTarget;
@@ -70,11 +83,31 @@ public enum BindMode {
         return targetToSource;
     }
 
-    private boolean sourceToTarget, targetToSource;
+    /**
+     * Returns whether this bind mode sets the target property only once.
+     * @return
+     * Returns true for {@link #ONE_TIME} and {@link #LAZY_ONE_TIME}.
+     */
+    public boolean isOneTime() {
+        return oneTime;
+    }
+
+    /**
+     * Returns whether this bind mode waits for the target to be drawn before reading the source property.
+     * @return
+     * Returns true for {@link #LAZY_ONE_TIME}.
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    private boolean sourceToTarget, targetToSource, oneTime, lazy;
 
-    BindMode(boolean sourceToTarget, boolean targetToSource) {
+    BindMode(boolean sourceToTarget, boolean targetToSource, boolean oneTime, boolean lazy) {
         this.sourceToTarget = sourceToTarget;
         this.targetToSource = targetToSource;
+        this.oneTime = oneTime;
+        this.lazy = lazy;
 
     }
 }
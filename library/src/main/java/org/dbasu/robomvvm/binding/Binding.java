@@ -35,8 +35,10 @@ import com.google.common.base.Preconditions;
 
 import org.dbasu.robomvvm.componentmodel.Component;
 import org.dbasu.robomvvm.componentmodel.GarbageCollectionEventArg;
+import org.dbasu.robomvvm.componentmodel.ReleaseEventArg;
 import org.dbasu.robomvvm.componentmodel.EventListener;
 import org.dbasu.robomvvm.componentmodel.EventArg;
+import org.dbasu.robomvvm.componentmodel.PropertyAccessor;
 
 import java.lang.ref.WeakReference;
 
@@ -44,7 +46,13 @@ import java.lang.ref.WeakReference;
  * Allows binding of properties and actions between {@link org.dbasu.robomvvm.componentmodel.Component}s.
  * Maintains weak references to both the source component and the target component, allowing them to be
  * garbage collected even when the binding is alive. When either the source component or the target component
- * is garbage collected, the binding is automatically unbound.
+ * is garbage collected, the binding is automatically unbound. <br/><br/>
+ *
+ * Property bindings and {@link org.dbasu.robomvvm.componentmodel.ComputedProperty}s form a graph of dependencies between
+ * properties, tracked by {@link org.dbasu.robomvvm.componentmodel.PropagationGraph}. Writes caused by a change are deferred
+ * until the current {@link org.dbasu.robomvvm.componentmodel.Transaction} ends, and are then run in topological order, so that
+ * every target is written at most once, from consistent values. Creating a binding that would make the graph cyclic throws a
+ * {@link java.lang.RuntimeException}.
  */
 public class Binding {
 
@@ -67,12 +75,37 @@ public class Binding {
      */
     public static Binding bindAction(Component source, Component target, Class<? extends EventArg> eventType, String action) {
 
+        return bindAction(source, target, eventType, action, RateLimit.NONE);
+    }
+
+    /**
+     * Binds an event in the source component to an action in the target component, limiting how often the action is invoked.
+     * The action is invoked with the latest event argument according to the supplied {@link org.dbasu.robomvvm.binding.RateLimit}.
+     * Any pending invocation happens immediately when the binding is unbound.
+     *
+     * @param source
+     *          The source component.
+     * @param target
+     *          The target component.
+     * @param eventType
+     *          The event type in the source component that triggers the action.
+     * @param action
+     *          The action method name in the target component. The action method may take an argument of the supplied
+     *          eventType, or may take no arguments.
+     * @param rateLimit
+     *          The rate limit applied to invocations of the action.
+     * @return
+     *          The binding created by this call.
+     */
+    public static Binding bindAction(Component source, Component target, Class<? extends EventArg> eventType, String action, RateLimit rateLimit) {
+
         Preconditions.checkNotNull(source);
         Preconditions.checkNotNull(target);
         Preconditions.checkNotNull(eventType);
         Preconditions.checkNotNull(action);
+        Preconditions.checkNotNull(rateLimit);
 
-        Binding ret = new ActionBinding(source, target, eventType, action);
+        Binding ret = new ActionBinding(source, target, eventType, action, rateLimit);
         ret.bind();
         return ret;
 
@@ -82,7 +115,64 @@ public class Binding {
     /**
      * Binds a property in the source component to a property in the target component. The directionality of the binding is specified
      * using {@link org.dbasu.robomvvm.binding.BindMode}, and conversions between the source value and the target value are carried
-     * out using a {@link org.dbasu.robomvvm.binding.ValueConverter}.
+     * out using a {@link org.dbasu.robomvvm.binding.ValueConverter}. Every change is written. Use the overload taking an
+     * {@link org.dbasu.robomvvm.binding.EqualityStrategy} to skip redundant writes.
+     *
+     * @param source
+     *          The source component.
+     * @param sourceProperty
+     *          The source property name.
+     * @param target
+     *          The target component.
+     * @param targetProperty
+     *          The target property name.
+     * @param valueConverter
+     *          The value converter to convert between source and target properties.
+     * @param bindMode
+     *          The bind mode to be used for this binding.
+     * @return
+     *          The binding created by this call.
+     */
+
+    public static Binding bindProperty(Component source, String sourceProperty, Component target, String targetProperty, ValueConverter<?, ?> valueConverter, BindMode bindMode) {
+
+        return bindProperty(source, sourceProperty, target, targetProperty, valueConverter, bindMode, EqualityStrategy.NONE);
+    }
+
+    /**
+     * Binds a property in the source component to a property in the target component. The directionality of the binding is specified
+     * using {@link org.dbasu.robomvvm.binding.BindMode}, and conversions between the source value and the target value are carried
+     * out using a {@link org.dbasu.robomvvm.binding.ValueConverter}. The binding remembers the last value propagated in each direction,
+     * and skips writes whose converted value is equal to it according to the supplied {@link org.dbasu.robomvvm.binding.EqualityStrategy}.
+     *
+     * @param source
+     *          The source component.
+     * @param sourceProperty
+     *          The source property name.
+     * @param target
+     *          The target component.
+     * @param targetProperty
+     *          The target property name.
+     * @param valueConverter
+     *          The value converter to convert between source and target properties.
+     * @param bindMode
+     *          The bind mode to be used for this binding.
+     * @param equalityStrategy
+     *          The equality strategy used to skip redundant writes.
+     * @return
+     *          The binding created by this call.
+     */
+
+    public static Binding bindProperty(Component source, String sourceProperty, Component target, String targetProperty, ValueConverter<?, ?> valueConverter,
+                                       BindMode bindMode, EqualityStrategy equalityStrategy) {
+
+        return bindProperty(source, sourceProperty, target, targetProperty, valueConverter, bindMode, equalityStrategy, RateLimit.NONE);
+    }
+
+    /**
+     * Binds a property in the source component to a property in the target component, limiting how often changes are propagated.
+     * Changes in either direction are propagated according to the supplied {@link org.dbasu.robomvvm.binding.RateLimit}, always
+     * propagating the latest value. Any pending change is propagated immediately when the binding is unbound.
      *
      * @param source
      *          The source component.
@@ -96,11 +186,89 @@ public class Binding {
      *          The value converter to convert between source and target properties.
      * @param bindMode
      *          The bind mode to be used for this binding.
+     * @param equalityStrategy
+     *          The equality strategy used to skip redundant writes.
+     * @param rateLimit
+     *          The rate limit applied to changes in either direction.
+     * @return
+     *          The binding created by this call.
+     */
+
+    public static Binding bindProperty(Component source, String sourceProperty, Component target, String targetProperty, ValueConverter<?, ?> valueConverter,
+                                       BindMode bindMode, EqualityStrategy equalityStrategy, RateLimit rateLimit) {
+
+        Preconditions.checkNotNull(source);
+        Preconditions.checkNotNull(sourceProperty);
+        Preconditions.checkNotNull(target);
+        Preconditions.checkNotNull(targetProperty);
+
+        return bindProperty(source, source.getPropertyAccessor(sourceProperty), target, target.getPropertyAccessor(targetProperty),
+                valueConverter, bindMode, equalityStrategy, rateLimit);
+    }
+
+    /**
+     * Binds a property in the source component to a property in the target component using pre-resolved property accessors.
+     * This avoids looking up the getter and setter functions of both properties, and is useful when many bindings are made
+     * between components of the same classes.
+     *
+     * @param source
+     *          The source component.
+     * @param sourceProperty
+     *          The accessor of the source property, obtained from {@link org.dbasu.robomvvm.componentmodel.Component#getPropertyAccessor(String)}
+     *          on a component of the same class as the source component.
+     * @param target
+     *          The target component.
+     * @param targetProperty
+     *          The accessor of the target property, obtained from {@link org.dbasu.robomvvm.componentmodel.Component#getPropertyAccessor(String)}
+     *          on a component of the same class as the target component.
+     * @param valueConverter
+     *          The value converter to convert between source and target properties. Pass {@link org.dbasu.robomvvm.binding.ValueConverterRegistry#AUTOMATIC}
+     *          to use the converter registered for the value types of the two properties.
+     * @param bindMode
+     *          The bind mode to be used for this binding.
+     * @param equalityStrategy
+     *          The equality strategy used to skip redundant writes.
      * @return
      *          The binding created by this call.
      */
 
-    public static Binding bindProperty(Component source, String sourceProperty, Component target, String targetProperty, ValueConverter valueConverter, BindMode bindMode) {
+    public static Binding bindProperty(Component source, PropertyAccessor sourceProperty, Component target, PropertyAccessor targetProperty,
+                                       ValueConverter<?, ?> valueConverter, BindMode bindMode, EqualityStrategy equalityStrategy) {
+
+        return bindProperty(source, sourceProperty, target, targetProperty, valueConverter, bindMode, equalityStrategy, RateLimit.NONE);
+    }
+
+    /**
+     * Binds a property in the source component to a property in the target component using pre-resolved property accessors,
+     * limiting how often changes are propagated according to the supplied {@link org.dbasu.robomvvm.binding.RateLimit}.
+     * Bindings made with {@link org.dbasu.robomvvm.binding.BindMode#ONE_TIME} or {@link org.dbasu.robomvvm.binding.BindMode#LAZY_ONE_TIME}
+     * hold no listeners, and ignore the equality strategy and the rate limit.
+     *
+     * @param source
+     *          The source component.
+     * @param sourceProperty
+     *          The accessor of the source property, obtained from {@link org.dbasu.robomvvm.componentmodel.Component#getPropertyAccessor(String)}
+     *          on a component of the same class as the source component.
+     * @param target
+     *          The target component.
+     * @param targetProperty
+     *          The accessor of the target property, obtained from {@link org.dbasu.robomvvm.componentmodel.Component#getPropertyAccessor(String)}
+     *          on a component of the same class as the target component.
+     * @param valueConverter
+     *          The value converter to convert between source and target properties. Pass {@link org.dbasu.robomvvm.binding.ValueConverterRegistry#AUTOMATIC}
+     *          to use the converter registered for the value types of the two properties.
+     * @param bindMode
+     *          The bind mode to be used for this binding.
+     * @param equalityStrategy
+     *          The equality strategy used to skip redundant writes.
+     * @param rateLimit
+     *          The rate limit applied to changes in either direction.
+     * @return
+     *          The binding created by this call.
+     */
+
+    public static Binding bindProperty(Component source, PropertyAccessor sourceProperty, Component target, PropertyAccessor targetProperty,
+                                       ValueConverter<?, ?> valueConverter, BindMode bindMode, EqualityStrategy equalityStrategy, RateLimit rateLimit) {
 
         Preconditions.checkNotNull(source);
         Preconditions.checkNotNull(sourceProperty);
@@ -108,8 +276,72 @@ public class Binding {
         Preconditions.checkNotNull(targetProperty);
         Preconditions.checkNotNull(valueConverter);
         Preconditions.checkNotNull(bindMode);
+        Preconditions.checkNotNull(equalityStrategy);
+        Preconditions.checkNotNull(rateLimit);
+        Preconditions.checkArgument(sourceProperty.getObjectType() == source.getClass(), "Source property accessor belongs to a different class");
+        Preconditions.checkArgument(targetProperty.getObjectType() == target.getClass(), "Target property accessor belongs to a different class");
+
+        if(valueConverter == ValueConverterRegistry.AUTOMATIC) {
+            valueConverter = ValueConverterRegistry.get(sourceProperty.getValueType(), targetProperty.getValueType());
+        }
+
+        Binding ret;
+
+        if(bindMode.isOneTime()) {
+            ret = new OneTimeBinding(source, sourceProperty, target, targetProperty, valueConverter, bindMode.isLazy());
+        } else {
+            ret = new PropertyBinding(source, sourceProperty, target, targetProperty, valueConverter, bindMode, equalityStrategy, rateLimit);
+        }
 
-        Binding ret = new PropertyBinding(source, sourceProperty, target, targetProperty, valueConverter, bindMode);
+        ret.bind();
+        return ret;
+    }
+
+    /**
+     * Views a value converter as converting between untyped values. Bindings read and write properties as objects, and
+     * rely on the caller to pass a converter that matches the value types of the bound properties.
+     * @param valueConverter
+     *          The value converter.
+     * @return
+     *          The same value converter.
+     */
+    @SuppressWarnings("unchecked")
+    static ValueConverter<Object, Object> untyped(ValueConverter<?, ?> valueConverter) {
+        return (ValueConverter<Object, Object>) valueConverter;
+    }
+
+    /**
+     * Binds several source properties to a single target property. The values of the source properties are combined into
+     * the target value using a {@link org.dbasu.robomvvm.binding.MultiValueConverter}. Changes to the source properties are
+     * batched until the current {@link org.dbasu.robomvvm.componentmodel.Transaction} ends, and the target value is then
+     * recomputed once. The converter is only called when at least one source value has changed, and the target is only written
+     * when the converted value has changed. Changes to the target property are not reflected in the source properties.
+     *
+     * @param sources
+     *          The source properties. Must not be empty.
+     * @param target
+     *          The target component.
+     * @param targetProperty
+     *          The target property name.
+     * @param valueConverter
+     *          The value converter to combine the source values into the target value.
+     * @return
+     *          The binding created by this call.
+     */
+
+    public static Binding bindMultiple(SourceProperty[] sources, Component target, String targetProperty, MultiValueConverter valueConverter) {
+
+        Preconditions.checkNotNull(sources);
+        Preconditions.checkArgument(sources.length > 0, "At least one source property is required");
+        Preconditions.checkNotNull(target);
+        Preconditions.checkNotNull(targetProperty);
+        Preconditions.checkNotNull(valueConverter);
+
+        for(SourceProperty source : sources) {
+            Preconditions.checkNotNull(source);
+        }
+
+        Binding ret = new MultiBinding(sources.clone(), target, target.getPropertyAccessor(targetProperty), valueConverter);
         ret.bind();
         return ret;
     }
@@ -139,8 +371,7 @@ public class Binding {
 
     /**
      * Binds a property in the source component to a property in the target component. The directionality of the binding is specified
-     * using {@link org.dbasu.robomvvm.binding.BindMode}. No conversions between the source and the target values is
-     * performed.
+     * using {@link org.dbasu.robomvvm.binding.BindMode}. A {@link org.dbasu.robomvvm.binding.DefaultValueConverter} is used.
      *
      * @param source
      *          The source component.
@@ -171,16 +402,98 @@ public class Binding {
         Component target = getTarget();
 
         if(source != null) {
-            source.removeEventListener(garbageCollectionListener);
+            detachSource(source);
         }
 
         if(target != null) {
-            target.removeEventListener(garbageCollectionListener);
+            detachTarget(target);
         }
 
         bound = false;
     }
 
+    /**
+     * Point this binding at a different source component, a different target component, or both. Listeners are moved
+     * only from the components that are being replaced, and the current value of each new component is pushed once. This
+     * is much cheaper than unbinding and creating a new binding, and is used to rebind recycled views to new view models.
+     * If the binding is not bound, only the components are swapped.
+     *
+     * @param source
+     *          The new source component. May be the current source component.
+     * @param target
+     *          The new target component. May be the current target component.
+     */
+    public void retarget(Component source, Component target) {
+
+        Preconditions.checkNotNull(source);
+        Preconditions.checkNotNull(target);
+        checkRetarget(source, target);
+
+        Component oldSource = getSource();
+        Component oldTarget = getTarget();
+
+        boolean sourceChanged = source != oldSource;
+        boolean targetChanged = target != oldTarget;
+
+        if(bound) {
+            if(sourceChanged && oldSource != null) {
+                detachSource(oldSource);
+            }
+
+            if(targetChanged && oldTarget != null) {
+                detachTarget(oldTarget);
+            }
+        }
+
+        if(sourceChanged) {
+            weakSourceReference = new WeakReference<Component>(source);
+        }
+
+        if(targetChanged) {
+            weakTargetReference = new WeakReference<Component>(target);
+        }
+
+        if(bound) {
+            if(sourceChanged) {
+                attachSource(source);
+            }
+
+            if(targetChanged) {
+                attachTarget(target);
+            }
+        }
+    }
+
+    /**
+     * Suspend this binding. While suspended, a property binding stops writing source changes to its target, and only
+     * remembers that the source has changed. Changes to the target are still written to the source, and action bindings
+     * keep invoking their actions.
+     */
+    public void suspend() {
+        suspended = true;
+    }
+
+    /**
+     * Resume a suspended binding. A property binding whose source changed while it was suspended writes the current
+     * source value to its target once.
+     */
+    public void resume() {
+
+        if(!suspended) return;
+
+        suspended = false;
+        onResume();
+    }
+
+    /**
+     * Returns whether the binding is currently suspended.
+     * @return
+     *          True if the binding is suspended. False otherwise.
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
     /**
      * Returns whether the binding is currently bound.
      * @return
@@ -208,8 +521,8 @@ public class Binding {
         return weakTargetReference.get();
     }
 
-    private final WeakReference<Component> weakSourceReference;
-    private final WeakReference<Component> weakTargetReference;
+    private WeakReference<Component> weakSourceReference;
+    private WeakReference<Component> weakTargetReference;
 
     private final EventListener garbageCollectionListener = new EventListener(GarbageCollectionEventArg.class) {
         @Override
@@ -218,7 +531,18 @@ public class Binding {
         }
     };
 
+    /**
+     * Unbinds this binding when a component adapter it refers to is released, since the adapter is then reused for another object.
+     */
+    private final EventListener releaseListener = new EventListener(ReleaseEventArg.class) {
+        @Override
+        public void invoke(EventArg args) {
+            unbind();
+        }
+    };
+
     private boolean bound = false;
+    private boolean suspended = false;
 
     protected Binding(Component source, Component target) {
         this.weakSourceReference = new WeakReference<Component>(source);
@@ -232,12 +556,76 @@ public class Binding {
         Component target = getTarget();
 
         if(source != null) {
-            source.addEventListener(garbageCollectionListener);
+            attachSource(source);
         }
 
         if(target != null) {
-            target.addEventListener(garbageCollectionListener);
+            attachTarget(target);
         }
         bound = true;
     }
+
+    /**
+     * Called by {@link #resume()} when a suspended binding is resumed. Override this in subclasses to catch up on changes
+     * missed while suspended.
+     */
+    protected void onResume() {
+
+    }
+
+    /**
+     * Called by {@link #retarget} before any components are swapped. Throw an exception if the binding can not
+     * work with the supplied components.
+     */
+    protected void checkRetarget(Component source, Component target) {
+
+    }
+
+    /**
+     * Add a listener to a component. Inside {@link org.dbasu.robomvvm.binding.BindingGroup#batchListeners(Runnable)}, the
+     * listener is added when the batch ends. Use this from {@link #attachSource} and {@link #attachTarget}.
+     */
+    protected final void addListener(Component component, EventListener listener) {
+        ListenerBatch.addListener(component, listener);
+    }
+
+    /**
+     * Remove a listener from a component. Inside {@link org.dbasu.robomvvm.binding.BindingGroup#batchListeners(Runnable)}, the
+     * listener is removed when the batch ends. Use this from {@link #detachSource} and {@link #detachTarget}.
+     */
+    protected final void removeListener(Component component, EventListener listener) {
+        ListenerBatch.removeListener(component, listener);
+    }
+
+    /**
+     * Add the listeners of this binding to the source component.
+     */
+    protected void attachSource(Component source) {
+        addListener(source, garbageCollectionListener);
+        addListener(source, releaseListener);
+    }
+
+    /**
+     * Remove the listeners of this binding from the source component.
+     */
+    protected void detachSource(Component source) {
+        removeListener(source, garbageCollectionListener);
+        removeListener(source, releaseListener);
+    }
+
+    /**
+     * Add the listeners of this binding to the target component.
+     */
+    protected void attachTarget(Component target) {
+        addListener(target, garbageCollectionListener);
+        addListener(target, releaseListener);
+    }
+
+    /**
+     * Remove the listeners of this binding from the target component.
+     */
+    protected void detachTarget(Component target) {
+        removeListener(target, garbageCollectionListener);
+        removeListener(target, releaseListener);
+    }
 }
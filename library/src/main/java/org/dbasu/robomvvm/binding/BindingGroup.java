@@ -0,0 +1,182 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.binding;
+
+import com.google.common.base.Preconditions;
+
+import org.dbasu.robomvvm.componentmodel.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A group of bindings that are unbound, suspended and resumed together. Unbinding a group removes the listeners of all
+ * its bindings with one call per component, instead of one call per listener. Use {@link #batchListeners(Runnable)} to
+ * add the listeners of many new bindings in the same way.
+ */
+public class BindingGroup implements Iterable<Binding> {
+
+    private final List<Binding> bindings = new ArrayList<Binding>();
+
+    /**
+     * Construct an empty binding group.
+     */
+    public BindingGroup() {
+
+    }
+
+    /**
+     * Construct a binding group holding the supplied bindings.
+     * @param bindings
+     *          The bindings to add to the group.
+     */
+    public BindingGroup(Collection<? extends Binding> bindings) {
+        addAll(bindings);
+    }
+
+    /**
+     * Runs a task that makes or unbinds bindings. Listeners added and removed by bindings on the current thread while the
+     * task runs are applied when it ends, with one call per component. Nested calls are applied when the outermost call ends.
+     * Bindings must not rely on receiving events while the task runs.
+     * @param task
+     *          The task to run.
+     */
+    public static void batchListeners(Runnable task) {
+        Preconditions.checkNotNull(task);
+
+        ListenerBatch.begin();
+
+        try {
+            task.run();
+        } finally {
+            ListenerBatch.end();
+        }
+    }
+
+    /**
+     * Add a binding to this group.
+     * @param binding
+     *          The binding to add.
+     */
+    public void add(Binding binding) {
+        Preconditions.checkNotNull(binding);
+
+        bindings.add(binding);
+    }
+
+    /**
+     * Add several bindings to this group.
+     * @param bindings
+     *          The bindings to add.
+     */
+    public void addAll(Collection<? extends Binding> bindings) {
+        Preconditions.checkNotNull(bindings);
+
+        for(Binding binding : bindings) {
+            add(binding);
+        }
+    }
+
+    /**
+     * Gets the bindings in this group.
+     * @return
+     *          An unmodifiable list of the bindings in this group.
+     */
+    public List<Binding> getBindings() {
+        return Collections.unmodifiableList(bindings);
+    }
+
+    /**
+     * Gets the number of bindings in this group.
+     * @return
+     *          The number of bindings in this group.
+     */
+    public int size() {
+        return bindings.size();
+    }
+
+    @Override
+    public Iterator<Binding> iterator() {
+        return getBindings().iterator();
+    }
+
+    /**
+     * Unbind all bindings in this group, removing their listeners with one call per component. Any values written while
+     * unbinding are propagated in a single {@link org.dbasu.robomvvm.componentmodel.Transaction}.
+     */
+    public void unbind() {
+
+        Transaction.run(new Runnable() {
+            @Override
+            public void run() {
+                batchListeners(new Runnable() {
+                    @Override
+                    public void run() {
+                        for(Binding binding : bindings) {
+                            binding.unbind();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Suspend all bindings in this group. See {@link org.dbasu.robomvvm.binding.Binding#suspend()}.
+     */
+    public void suspend() {
+
+        for(Binding binding : bindings) {
+            binding.suspend();
+        }
+    }
+
+    /**
+     * Resume all bindings in this group inside a single {@link org.dbasu.robomvvm.componentmodel.Transaction}.
+     * See {@link org.dbasu.robomvvm.binding.Binding#resume()}.
+     */
+    public void resume() {
+
+        Transaction.run(new Runnable() {
+            @Override
+            public void run() {
+                for(Binding binding : bindings) {
+                    binding.resume();
+                }
+            }
+        });
+    }
+}
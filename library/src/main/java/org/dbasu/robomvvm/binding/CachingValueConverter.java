@@ -0,0 +1,184 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.binding;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * A value converter that remembers the results of another value converter. Each direction keeps a bounded cache
+ * that evicts the least recently used results, keyed by the converted value using {@link Object#equals(Object)}. This is useful
+ * for expensive conversions that see the same values repeatedly, such as formatting values for the rows of a list. A
+ * caching value converter is thread safe, and a single instance can be shared by all the bindings that use it. <br/><br/>
+ *
+ * The wrapped converter must always return equal results for equal values, and values must not be mutated after they
+ * have been converted. Null values are converted without being cached.
+ *
+ * @param <S>
+ *          The type of the source property.
+ * @param <T>
+ *          The type of the target property.
+ */
+public class CachingValueConverter<S, T> implements ValueConverter<S, T> {
+
+    /**
+     * Computes the weight of a cached conversion, for converters bounded by total weight rather than
+     * by the number of cached results.
+     */
+    public interface Weigher {
+
+        /**
+         * Computes the weight of a cached conversion.
+         * @param value
+         *          The converted value.
+         * @param result
+         *          The result of the conversion. May be null.
+         * @return
+         *          The weight. Must not be negative.
+         */
+        public int weigh(Object value, Object result);
+    }
+
+    private final ValueConverter<S, T> valueConverter;
+    private final LoadingCache<S, Optional<T>> targetCache;
+    private final LoadingCache<T, Optional<S>> sourceCache;
+
+    /**
+     * Constructs a caching value converter that keeps at most a given number of results in each direction.
+     * @param valueConverter
+     *          The value converter whose results are cached.
+     * @param maximumSize
+     *          The largest number of results to keep in each direction.
+     */
+    public CachingValueConverter(ValueConverter<S, T> valueConverter, long maximumSize) {
+        this(valueConverter, CacheBuilder.newBuilder().maximumSize(maximumSize));
+    }
+
+    /**
+     * Constructs a caching value converter that keeps results up to a total weight in each direction.
+     * @param valueConverter
+     *          The value converter whose results are cached.
+     * @param maximumWeight
+     *          The largest total weight of results to keep in each direction.
+     * @param weigher
+     *          Computes the weight of each result.
+     */
+    public CachingValueConverter(ValueConverter<S, T> valueConverter, long maximumWeight, final Weigher weigher) {
+        this(valueConverter, CacheBuilder.newBuilder().maximumWeight(maximumWeight).weigher(new com.google.common.cache.Weigher<Object, Optional<?>>() {
+            @Override
+            public int weigh(Object key, Optional<?> value) {
+                return weigher.weigh(key, value.orNull());
+            }
+        }));
+
+        Preconditions.checkNotNull(weigher);
+    }
+
+    private CachingValueConverter(final ValueConverter<S, T> valueConverter, CacheBuilder<Object, ? super Optional<?>> builder) {
+        this.valueConverter = Preconditions.checkNotNull(valueConverter);
+
+        builder.recordStats();
+
+        this.targetCache = builder.build(new CacheLoader<S, Optional<T>>() {
+            @Override
+            public Optional<T> load(S value) {
+                return Optional.fromNullable(valueConverter.convertToTarget(value));
+            }
+        });
+
+        this.sourceCache = builder.build(new CacheLoader<T, Optional<S>>() {
+            @Override
+            public Optional<S> load(T value) {
+                return Optional.fromNullable(valueConverter.convertToSource(value));
+            }
+        });
+    }
+
+    @Override
+    public T convertToTarget(S value) {
+
+        if(value == null) return valueConverter.convertToTarget(null);
+
+        return get(targetCache, value);
+    }
+
+    @Override
+    public S convertToSource(T value) {
+
+        if(value == null) return valueConverter.convertToSource(null);
+
+        return get(sourceCache, value);
+    }
+
+    /**
+     * Gets the statistics of the cache of source to target conversions, including hit and miss counts.
+     * @return
+     *          A snapshot of the cache statistics.
+     */
+    public CacheStats getTargetCacheStats() {
+        return targetCache.stats();
+    }
+
+    /**
+     * Gets the statistics of the cache of target to source conversions, including hit and miss counts.
+     * @return
+     *          A snapshot of the cache statistics.
+     */
+    public CacheStats getSourceCacheStats() {
+        return sourceCache.stats();
+    }
+
+    /**
+     * Removes all cached results in both directions. Call this when the results of the wrapped converter change,
+     * for example after a change of locale.
+     */
+    public void invalidateAll() {
+        targetCache.invalidateAll();
+        sourceCache.invalidateAll();
+    }
+
+    private static <K, V> V get(LoadingCache<K, Optional<V>> cache, K value) {
+
+        try {
+            return cache.getUnchecked(value).orNull();
+        } catch (UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.binding;
+
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Package private class that converts values from one declared type to another. The strategy is chosen once from the
+ * declared types, so that a conversion does not need to check assignability for every value.
+ */
+abstract class ConversionStrategy {
+
+    /**
+     * Returns the value unchanged. Used when every value of the source type is an instance of the target type.
+     */
+    private static final ConversionStrategy IDENTITY = new ConversionStrategy() {
+        @Override
+        Object convert(Object value) {
+            return value;
+        }
+    };
+
+    /**
+     * Calls {@link Object#toString()} on the value. Used when the target type accepts strings.
+     */
+    private static final ConversionStrategy TO_STRING = new ConversionStrategy() {
+        @Override
+        Object convert(Object value) {
+            return value == null ? null : value.toString();
+        }
+    };
+
+    /**
+     * Chooses a conversion strategy between two types. Primitive types are treated as their wrapper types.
+     * @param from
+     *          The declared type of the values to convert.
+     * @param to
+     *          The type to convert the values to.
+     * @return
+     *          The conversion strategy.
+     */
+    static ConversionStrategy forTypes(Class<?> from, Class<?> to) {
+
+        final Class<?> fromType = ClassUtils.primitiveToWrapper(from);
+        final Class<?> toType = ClassUtils.primitiveToWrapper(to);
+
+        if(toType.isAssignableFrom(fromType)) {
+            return IDENTITY;
+        }
+
+        if(toType.isAssignableFrom(String.class)) {
+            return new ConversionStrategy() {
+                @Override
+                Object convert(Object value) {
+                    if(toType.isInstance(value)) return value;
+
+                    return TO_STRING.convert(value);
+                }
+            };
+        }
+
+        if(Number.class.isAssignableFrom(fromType) && ClassUtils.isPrimitiveWrapper(toType) && Number.class.isAssignableFrom(toType)) {
+            return forNumber(toType);
+        }
+
+        return new ConversionStrategy() {
+            @Override
+            Object convert(Object value) {
+
+                if(value == null || toType.isInstance(value)) return value;
+
+                throw new RuntimeException("Unsupported Conversion From " + value.getClass().getName() + " To " + toType.getName());
+            }
+        };
+    }
+
+    /**
+     * Creates a strategy that converts {@link java.lang.Number}s to a numeric wrapper type.
+     */
+    private static ConversionStrategy forNumber(final Class<?> toType) {
+
+        if(toType == Integer.class) {
+            return new ConversionStrategy() {
+                @Override
+                Object convert(Object value) {
+                    return value == null ? null : ((Number) value).intValue();
+                }
+            };
+        }
+
+        if(toType == Long.class) {
+            return new ConversionStrategy() {
+                @Override
+                Object convert(Object value) {
+                    return value == null ? null : ((Number) value).longValue();
+                }
+            };
+        }
+
+        if(toType == Float.class) {
+            return new ConversionStrategy() {
+                @Override
+                Object convert(Object value) {
+                    return value == null ? null : ((Number) value).floatValue();
+                }
+            };
+        }
+
+        if(toType == Double.class) {
+            return new ConversionStrategy() {
+                @Override
+                Object convert(Object value) {
+                    return value == null ? null : ((Number) value).doubleValue();
+                }
+            };
+        }
+
+        if(toType == Short.class) {
+            return new ConversionStrategy() {
+                @Override
+                Object convert(Object value) {
+                    return value == null ? null : ((Number) value).shortValue();
+                }
+            };
+        }
+
+        return new ConversionStrategy() {
+            @Override
+            Object convert(Object value) {
+                return value == null ? null : ((Number) value).byteValue();
+            }
+        };
+    }
+
+    /**
+     * Converts a value.
+     * @throws java.lang.RuntimeException
+     *          When the value can not be converted.
+     */
+    abstract Object convert(Object value);
+}
@@ -34,7 +34,7 @@ package org.dbasu.robomvvm.binding;
 /**
  * A value converter that performs no conversion.
  */
-public class DefaultValueConverter implements ValueConverter {
+public class DefaultValueConverter implements ValueConverter<Object, Object> {
     @Override
     public Object convertToTarget(Object value) {
         return value;
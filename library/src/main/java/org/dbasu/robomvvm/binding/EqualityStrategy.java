@@ -0,0 +1,117 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.binding;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Decides whether two values are equal for the purposes of a {@link org.dbasu.robomvvm.binding.Binding}. A property
+ * binding remembers the last value it propagated in each direction, and skips a write when the newly converted value
+ * is equal to it according to its equality strategy.
+ */
+public abstract class EqualityStrategy {
+
+    /**
+     * Never considers two values equal. Every change is written, which was the behavior of property bindings before
+     * equality strategies were introduced.
+     */
+    public static final EqualityStrategy NONE = new EqualityStrategy() {
+        @Override
+        public boolean areEqual(Object a, Object b) {
+            return false;
+        }
+    };
+
+    /**
+     * Considers two values equal only if they are the same instance.
+     */
+    public static final EqualityStrategy IDENTITY = new EqualityStrategy() {
+        @Override
+        public boolean areEqual(Object a, Object b) {
+            return a == b;
+        }
+    };
+
+    /**
+     * Considers two values equal if they are both null, or if {@link Object#equals(Object)} returns true.
+     */
+    public static final EqualityStrategy EQUALS = new EqualityStrategy() {
+        @Override
+        public boolean areEqual(Object a, Object b) {
+            return Objects.equal(a, b);
+        }
+    };
+
+    /**
+     * Creates an equality strategy for floating point values. Two {@link java.lang.Number}s are considered equal if they differ
+     * by no more than the supplied epsilon. Values that are not both numbers are compared using {@link #EQUALS}.
+     *
+     * @param epsilon
+     *          The largest difference between two numbers that are considered equal. Must not be negative.
+     * @return
+     *          The created equality strategy.
+     */
+    public static EqualityStrategy epsilon(final double epsilon) {
+        Preconditions.checkArgument(epsilon >= 0, "epsilon must not be negative");
+
+        return new EqualityStrategy() {
+            @Override
+            public boolean areEqual(Object a, Object b) {
+
+                if(a instanceof Number && b instanceof Number) {
+                    double x = ((Number) a).doubleValue();
+                    double y = ((Number) b).doubleValue();
+
+                    if(x == y) return true;
+                    if(Double.isNaN(x) || Double.isNaN(y)) return Double.isNaN(x) && Double.isNaN(y);
+
+                    return Math.abs(x - y) <= epsilon;
+                }
+
+                return EQUALS.areEqual(a, b);
+            }
+        };
+    }
+
+    /**
+     * Checks whether two values are equal.
+     * @param a
+     *          The first value. May be null.
+     * @param b
+     *          The second value. May be null.
+     * @return
+     *          True if the values are equal according to this strategy. False otherwise.
+     */
+    public abstract boolean areEqual(Object a, Object b);
+}
@@ -0,0 +1,152 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.binding;
+
+import org.dbasu.robomvvm.componentmodel.Component;
+import org.dbasu.robomvvm.componentmodel.EventListener;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Package private class that collects the listeners added and removed by bindings on the current thread, and applies them
+ * with one call per component. Used by {@link org.dbasu.robomvvm.binding.BindingGroup}.
+ */
+class ListenerBatch {
+
+    private static class Changes {
+        private final Set<EventListener> added = new LinkedHashSet<EventListener>();
+        private final Set<EventListener> removed = new LinkedHashSet<EventListener>();
+    }
+
+    private static final ThreadLocal<ListenerBatch> currentBatch = new ThreadLocal<ListenerBatch>();
+
+    private final Map<Component, Changes> changes = new IdentityHashMap<Component, Changes>();
+    private int depth = 0;
+
+    /**
+     * Start collecting listener changes on the current thread. Nested calls join the outermost batch.
+     */
+    static void begin() {
+
+        ListenerBatch batch = currentBatch.get();
+
+        if(batch == null) {
+            batch = new ListenerBatch();
+            currentBatch.set(batch);
+        }
+
+        batch.depth++;
+    }
+
+    /**
+     * Stop collecting listener changes. The outermost call applies all collected changes.
+     */
+    static void end() {
+
+        ListenerBatch batch = currentBatch.get();
+        if(batch == null) return;
+
+        if(--batch.depth > 0) return;
+
+        currentBatch.remove();
+        batch.apply();
+    }
+
+    /**
+     * Add a listener to a component, or remember to add it when the current batch ends.
+     */
+    static void addListener(Component component, EventListener listener) {
+
+        ListenerBatch batch = currentBatch.get();
+
+        if(batch == null) {
+            component.addEventListener(listener);
+            return;
+        }
+
+        Changes componentChanges = batch.getChanges(component);
+        componentChanges.removed.remove(listener);
+        componentChanges.added.add(listener);
+    }
+
+    /**
+     * Remove a listener from a component, or remember to remove it when the current batch ends.
+     */
+    static void removeListener(Component component, EventListener listener) {
+
+        ListenerBatch batch = currentBatch.get();
+
+        if(batch == null) {
+            component.removeEventListener(listener);
+            return;
+        }
+
+        Changes componentChanges = batch.getChanges(component);
+        componentChanges.added.remove(listener);
+        componentChanges.removed.add(listener);
+    }
+
+    private Changes getChanges(Component component) {
+
+        Changes ret = changes.get(component);
+
+        if(ret == null) {
+            ret = new Changes();
+            changes.put(component, ret);
+        }
+
+        return ret;
+    }
+
+    private void apply() {
+
+        for(Map.Entry<Component, Changes> entry : changes.entrySet()) {
+
+            Component component = entry.getKey();
+            Changes componentChanges = entry.getValue();
+
+            if(!componentChanges.removed.isEmpty()) {
+                component.removeEventListeners(componentChanges.removed);
+            }
+
+            if(!componentChanges.added.isEmpty()) {
+                component.addEventListeners(componentChanges.added);
+            }
+        }
+
+        changes.clear();
+    }
+}
@@ -0,0 +1,248 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.binding;
+
+import org.dbasu.robomvvm.componentmodel.Component;
+import org.dbasu.robomvvm.componentmodel.EventArg;
+import org.dbasu.robomvvm.componentmodel.EventListener;
+import org.dbasu.robomvvm.componentmodel.PropertyAccessor;
+import org.dbasu.robomvvm.componentmodel.PropertyChangeEventArg;
+import org.dbasu.robomvvm.componentmodel.PropagationGraph;
+import org.dbasu.robomvvm.componentmodel.Transaction;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Package private class implementing the logic for creating a binding from several source properties to a single
+ * target property. Source changes are collected until the current {@link org.dbasu.robomvvm.componentmodel.Transaction}
+ * ends, and the target is then recomputed once, after all the source properties it depends on have been written.
+ */
+class MultiBinding extends Binding {
+
+    private final List<WeakReference<Component>> sources = new ArrayList<WeakReference<Component>>();
+    private final PropertyAccessor[] sourceProperties;
+    private final Set<String> sourcePropertyNames = new HashSet<String>();
+    private final PropertyAccessor targetProperty;
+    private final MultiValueConverter valueConverter;
+
+    /**
+     * Marks a target value that has not been written yet.
+     */
+    private static final Object UNSET = new Object();
+
+    private Object[] lastSourceValues = null;
+    private Object lastTargetValue = UNSET;
+    private boolean sourceChangedWhileSuspended = false;
+
+    private final List<PropagationGraph.Node> sourceNodes = new ArrayList<PropagationGraph.Node>();
+    private PropagationGraph.Node targetNode = null;
+
+    MultiBinding(SourceProperty[] sources, Component target, PropertyAccessor targetProperty, MultiValueConverter valueConverter) {
+        super(sources[0].getComponent(), target);
+
+        this.sourceProperties = new PropertyAccessor[sources.length];
+
+        for(int i = 0; i < sources.length; i++) {
+            Component source = sources[i].getComponent();
+
+            this.sources.add(new WeakReference<Component>(source));
+            this.sourceProperties[i] = source.getPropertyAccessor(sources[i].getProperty());
+            this.sourcePropertyNames.add(sources[i].getProperty());
+        }
+
+        this.targetProperty = targetProperty;
+        this.valueConverter = valueConverter;
+    }
+
+    private final Runnable updateTask = new Runnable() {
+        @Override
+        public void run() {
+            update();
+        }
+    };
+
+    /**
+     * Listens to all source components. A change to a property with the name of a source property on a different
+     * source component only causes an extra check of the source values.
+     */
+    private final EventListener sourceChangeListener = new EventListener(PropertyChangeEventArg.class) {
+        @Override
+        public void invoke(EventArg args) {
+            String name = ((PropertyChangeEventArg) args).getPropertyName();
+
+            if(!sourcePropertyNames.contains(name)) return;
+
+            if(isSuspended()) {
+                sourceChangedWhileSuspended = true;
+                return;
+            }
+
+            Transaction.defer(updateTask, targetNode == null ? 0 : targetNode.getRank());
+        }
+    };
+
+    private void update() {
+
+        if(!isBound()) return;
+
+        Component target = getTarget();
+        if(target == null) return;
+
+        Object[] values = new Object[sourceProperties.length];
+
+        for(int i = 0; i < values.length; i++) {
+            Component source = sources.get(i).get();
+            if(source == null) return;
+
+            values[i] = source.getProperty(sourceProperties[i]);
+        }
+
+        if(lastSourceValues != null && areEqual(lastSourceValues, values)) return;
+
+        lastSourceValues = values;
+
+        Object value = valueConverter.convert(values.clone());
+
+        if(lastTargetValue != UNSET && EqualityStrategy.EQUALS.areEqual(lastTargetValue, value)) return;
+
+        lastTargetValue = value;
+        target.setProperty(targetProperty, value);
+    }
+
+    private static boolean areEqual(Object[] a, Object[] b) {
+
+        for(int i = 0; i < a.length; i++) {
+            if(!EqualityStrategy.EQUALS.areEqual(a[i], b[i])) return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    protected void onResume() {
+
+        if(!sourceChangedWhileSuspended) return;
+
+        sourceChangedWhileSuspended = false;
+        Transaction.defer(updateTask, targetNode == null ? 0 : targetNode.getRank());
+    }
+
+    @Override
+    protected void checkRetarget(Component source, Component target) {
+        throw new UnsupportedOperationException("Multi-Source Bindings Can Not Be Retargeted");
+    }
+
+    @Override
+    protected void attachSource(Component source) {
+        addListener(source, sourceChangeListener);
+        super.attachSource(source);
+    }
+
+    @Override
+    protected void detachSource(Component source) {
+        removeListener(source, sourceChangeListener);
+        super.detachSource(source);
+    }
+
+    private void addEdges(Component target) {
+
+        targetNode = PropagationGraph.getNode(target, targetProperty.getName());
+
+        try {
+            for(int i = 0; i < sources.size(); i++) {
+                Component source = sources.get(i).get();
+                if(source == null) continue;
+
+                PropagationGraph.Node sourceNode = PropagationGraph.getNode(source, sourceProperties[i].getName());
+                PropagationGraph.addEdge(sourceNode, targetNode);
+                sourceNodes.add(sourceNode);
+            }
+        } catch (RuntimeException e) {
+            removeEdges();
+            throw e;
+        }
+    }
+
+    private void removeEdges() {
+
+        for(PropagationGraph.Node sourceNode : sourceNodes) {
+            PropagationGraph.removeEdge(sourceNode, targetNode);
+        }
+
+        sourceNodes.clear();
+        targetNode = null;
+    }
+
+    @Override
+    protected void bind() {
+
+        Component target = getTarget();
+
+        if(target != null) {
+            addEdges(target);
+        }
+
+        for(int i = 1; i < sources.size(); i++) {
+            Component source = sources.get(i).get();
+
+            if(source != null) {
+                attachSource(source);
+            }
+        }
+
+        super.bind();
+        update();
+    }
+
+    @Override
+    public void unbind() {
+
+        for(int i = 1; i < sources.size(); i++) {
+            Component source = sources.get(i).get();
+
+            if(source != null) {
+                detachSource(source);
+            }
+        }
+
+        removeEdges();
+        lastSourceValues = null;
+        lastTargetValue = UNSET;
+
+        super.unbind();
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.binding;
+
+import com.google.common.base.Preconditions;
+
+import org.dbasu.robomvvm.componentmodel.Component;
+import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
+import org.dbasu.robomvvm.componentmodel.PropertyAccessor;
+
+/**
+ * Package private class implementing the logic for {@link org.dbasu.robomvvm.binding.BindMode#ONE_TIME} and
+ * {@link org.dbasu.robomvvm.binding.BindMode#LAZY_ONE_TIME} bindings. The target is set once when the binding is made
+ * and once whenever it is retargeted. No listeners are added to either component.
+ */
+class OneTimeBinding extends Binding {
+
+    private final PropertyAccessor sourceProperty;
+    private final PropertyAccessor targetProperty;
+    private final ValueConverter<Object, Object> valueConverter;
+    private final boolean lazy;
+
+    /**
+     * Incremented whenever a new value is scheduled, so that lazy updates scheduled for an earlier target are skipped.
+     */
+    private int updateCount = 0;
+
+    OneTimeBinding(Component source, PropertyAccessor sourceProperty, Component target, PropertyAccessor targetProperty,
+                   ValueConverter<?, ?> valueConverter, boolean lazy) {
+        super(source, target);
+        this.sourceProperty = sourceProperty;
+        this.targetProperty = targetProperty;
+        this.valueConverter = untyped(valueConverter);
+        this.lazy = lazy;
+    }
+
+    private void scheduleUpdate() {
+
+        final int update = ++updateCount;
+
+        Component target = getTarget();
+        if(target == null) return;
+
+        if(!lazy || !(target instanceof ComponentAdapter)) {
+            updateTarget();
+            return;
+        }
+
+        ((ComponentAdapter) target).runBeforeDraw(new Runnable() {
+            @Override
+            public void run() {
+                if(update == updateCount && isBound()) updateTarget();
+            }
+        });
+    }
+
+    private void updateTarget() {
+
+        Component source = getSource();
+        Component target = getTarget();
+
+        if(source == null || target == null) return;
+
+        Object value = valueConverter.convertToTarget(source.getProperty(sourceProperty));
+        target.setProperty(targetProperty, value);
+    }
+
+    @Override
+    protected void bind() {
+        super.bind();
+        scheduleUpdate();
+    }
+
+    @Override
+    public void unbind() {
+        updateCount++;
+        super.unbind();
+    }
+
+    @Override
+    public void retarget(Component source, Component target) {
+        super.retarget(source, target);
+
+        if(isBound()) {
+            scheduleUpdate();
+        }
+    }
+
+    @Override
+    protected void checkRetarget(Component source, Component target) {
+        Preconditions.checkArgument(source.getClass() == sourceProperty.getObjectType(), "Source component belongs to a different class");
+        Preconditions.checkArgument(target.getClass() == targetProperty.getObjectType(), "Target component belongs to a different class");
+    }
+
+    @Override
+    protected void attachSource(Component source) {
+
+    }
+
+    @Override
+    protected void detachSource(Component source) {
+
+    }
+
+    @Override
+    protected void attachTarget(Component target) {
+
+    }
+
+    @Override
+    protected void detachTarget(Component target) {
+
+    }
+}
@@ -31,56 +31,282 @@
 
 package org.dbasu.robomvvm.binding;
 
+import com.google.common.base.Preconditions;
+
 import org.dbasu.robomvvm.componentmodel.Component;
 import org.dbasu.robomvvm.componentmodel.PropertyChangeEventArg;
 import org.dbasu.robomvvm.componentmodel.EventArg;
 import org.dbasu.robomvvm.componentmodel.EventListener;
+import org.dbasu.robomvvm.componentmodel.PropertyAccessor;
+import org.dbasu.robomvvm.componentmodel.PropagationGraph;
+import org.dbasu.robomvvm.componentmodel.Transaction;
+import org.dbasu.robomvvm.util.ThreadUtil;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
- * Package private class implementing the logic for creating a property binding.
+ * Package private class implementing the logic for creating a property binding. Writes caused by property change events
+ * are deferred to the end of the current {@link org.dbasu.robomvvm.componentmodel.Transaction}, and are ordered by the
+ * rank of the written property in the {@link org.dbasu.robomvvm.componentmodel.PropagationGraph}. Source to target
+ * conversions using an {@link org.dbasu.robomvvm.binding.AsyncValueConverter} run on its executor. Bindings with a
+ * {@link org.dbasu.robomvvm.binding.RateLimit} run their writes through a {@link org.dbasu.robomvvm.binding.RateLimiter}
+ * instead, and flush any pending write before either side is detached.
  */
 class PropertyBinding extends Binding {
 
-    private final String sourceProperty;
-    private final String targetProperty;
-    private final ValueConverter valueConverter;
+    private final PropertyAccessor sourceProperty;
+    private final PropertyAccessor targetProperty;
+    private final ValueConverter<Object, Object> valueConverter;
     private final BindMode bindMode;
+    private final EqualityStrategy equalityStrategy;
+
+    /**
+     * Marks a side of the binding whose value has not been seen yet.
+     */
+    private static final Object UNSET = new Object();
+
+    private Object lastSourceValue = UNSET;
+    private Object lastTargetValue = UNSET;
+
+    private PropagationGraph.Node sourceNode = null;
+    private PropagationGraph.Node targetNode = null;
 
+    /**
+     * Source changes and the UI thread callbacks of asynchronous conversions may run on different threads. The pending
+     * conversion and the last seen values of both sides are only read or replaced while holding this lock.
+     */
+    private final Object conversionLock = new Object();
+    private Future<?> pendingConversion = null;
+    private final AtomicInteger conversionCount = new AtomicInteger();
 
-    PropertyBinding(Component source, String sourceProperty, Component target, String targetProperty, ValueConverter converter, BindMode bindMode) {
+    private boolean sourceChangedWhileSuspended = false;
+
+    private final RateLimiter updateSourceLimiter;
+    private final RateLimiter updateTargetLimiter;
+
+
+    PropertyBinding(Component source, PropertyAccessor sourceProperty, Component target, PropertyAccessor targetProperty, ValueConverter<?, ?> converter,
+                    BindMode bindMode, EqualityStrategy equalityStrategy, RateLimit rateLimit) {
         super(source, target);
         this.sourceProperty = sourceProperty;
         this.targetProperty = targetProperty;
-        this.valueConverter = converter;
+        this.valueConverter = untyped(converter);
         this.bindMode = bindMode;
+        this.equalityStrategy = equalityStrategy;
+
+        if(rateLimit.isLimited()) {
+            updateSourceLimiter = new RateLimiter(rateLimit, updateSourceTask);
+            updateTargetLimiter = new RateLimiter(rateLimit, updateTargetTask);
+        } else {
+            updateSourceLimiter = null;
+            updateTargetLimiter = null;
+        }
+    }
 
+    private boolean isUnchanged(Object lastValue, Object value) {
+        return lastValue != UNSET && equalityStrategy.areEqual(lastValue, value);
     }
 
-    private final EventListener targetChangeListener = new EventListener(PropertyChangeEventArg.class) {
-        @Override
-        public void invoke(EventArg args) {
-            String name = ((PropertyChangeEventArg) args).getPropertyName();
+    private void updateSource() {
+
+        Component source = getSource();
+        Component target = getTarget();
+
+        if(source == null || target == null) return;
+
+
+        Object targetValue = target.getProperty(targetProperty);
+        Object value = valueConverter.convertToSource(targetValue);
+
+        synchronized (conversionLock) {
+            lastTargetValue = targetValue;
+
+            if(isUnchanged(lastSourceValue, value)) return;
+
+            lastSourceValue = value;
+        }
+
+        boolean hasListener = source.removeEventListener(sourceChangeListener);
+
+        source.setProperty(sourceProperty, value);
+
+        if(hasListener) {
+            source.addEventListener(sourceChangeListener);
+        }
+    }
+
+    private void updateTarget() {
+
+        Component source = getSource();
+        Component target = getTarget();
+
+        if(source == null || target == null) return;
+
+        Object sourceValue = source.getProperty(sourceProperty);
+
+        if(valueConverter instanceof AsyncValueConverter) {
+            updateTargetAsync((AsyncValueConverter<Object, Object>) valueConverter, target, sourceValue);
+            return;
+        }
+
+        Object value = valueConverter.convertToTarget(sourceValue);
+
+        synchronized (conversionLock) {
+            lastSourceValue = sourceValue;
+        }
+
+        applyToTarget(target, value);
+    }
+
+    /**
+     * Starts converting a source value on the executor of an asynchronous converter, cancelling any conversion that is
+     * still running. The result is applied on the UI thread, unless a newer conversion has been started by then. When
+     * the conversion fails, the source value is forgotten so that it is converted again on its next change, and the
+     * target value that the placeholder replaced is restored.
+     */
+    private void updateTargetAsync(final AsyncValueConverter<Object, Object> converter, Component target, final Object sourceValue) {
+
+        final Object previousTargetValue;
+
+        synchronized (conversionLock) {
+            if(isUnchanged(lastSourceValue, sourceValue)) return;
+
+            lastSourceValue = sourceValue;
+            previousTargetValue = lastTargetValue;
+        }
+
+        if(converter.hasPlaceholder()) {
+            applyToTarget(target, converter.getPlaceholder());
+        }
+
+        synchronized (conversionLock) {
+            cancelConversion();
+
+            final int conversion = conversionCount.incrementAndGet();
+
+            pendingConversion = converter.getExecutor().submit(new Runnable() {
+                @Override
+                public void run() {
+
+                    final Object value;
+
+                    try {
+                        value = converter.convertToTarget(sourceValue);
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                        onConversionFailed(conversion, converter.hasPlaceholder() ? previousTargetValue : UNSET);
+                        return;
+                    }
+
+                    if(Thread.currentThread().isInterrupted()) return;
+
+                    ThreadUtil.runOnUiThread(new Runnable() {
+                        @Override
+                        public void run() {
+
+                            synchronized (conversionLock) {
+                                if(conversion != conversionCount.get() || !isBound()) return;
+
+                                pendingConversion = null;
+                            }
+
+                            Component target = getTarget();
+                            if(target == null) return;
+
+                            applyToTarget(target, value);
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    /**
+     * Forgets the source value of a failed conversion and restores the target value on the UI thread, unless a newer
+     * conversion has been started by then.
+     * @param conversion
+     *          The number of the failed conversion.
+     * @param previousTargetValue
+     *          The target value to restore, or {@link #UNSET} to leave the target as it is.
+     */
+    private void onConversionFailed(final int conversion, final Object previousTargetValue) {
+
+        ThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+
+                synchronized (conversionLock) {
+                    if(conversion != conversionCount.get() || !isBound()) return;
+
+                    pendingConversion = null;
+                    lastSourceValue = UNSET;
+                }
+
+                Component target = getTarget();
+                if(target == null || previousTargetValue == UNSET) return;
+
+                applyToTarget(target, previousTargetValue);
+            }
+        });
+    }
+
+    /**
+     * Cancels the pending conversion. Must be called while holding {@link #conversionLock}.
+     */
+    private void cancelConversion() {
+
+        if(pendingConversion != null) {
+            pendingConversion.cancel(true);
+            pendingConversion = null;
+        }
+    }
+
+    private void applyToTarget(Component target, Object value) {
 
-            if(!name.equals(targetProperty)) return;
+        synchronized (conversionLock) {
+            if(isUnchanged(lastTargetValue, value)) return;
 
-            Component source = getSource();
-            Component target = getTarget();
+            lastTargetValue = value;
+        }
 
-            if(source == null || target == null) return;
+        boolean hasListener = target.removeEventListener(targetChangeListener);
 
+        target.setProperty(targetProperty, value);
 
-            boolean hasListener = source.removeEventListener(sourceChangeListener);
+        if(hasListener) {
+            target.addEventListener(targetChangeListener);
+        }
+    }
 
-            Object value = target.getProperty(targetProperty);
-            value = valueConverter.convertToSource(value);
+    private final Runnable updateSourceTask = new Runnable() {
+        @Override
+        public void run() {
+            if(isBound()) updateSource();
+        }
+    };
 
-            source.setProperty(sourceProperty, value);
+    private final Runnable updateTargetTask = new Runnable() {
+        @Override
+        public void run() {
+            if(isBound()) updateTarget();
+        }
+    };
 
-            if(hasListener) {
-                source.addEventListener(sourceChangeListener);
+    private final EventListener targetChangeListener = new EventListener(PropertyChangeEventArg.class) {
+        @Override
+        public void invoke(EventArg args) {
+            String name = ((PropertyChangeEventArg) args).getPropertyName();
+
+            if(!name.equals(targetProperty.getName())) return;
+
+            if(updateSourceLimiter != null) {
+                updateSourceLimiter.trigger();
+                return;
             }
 
+            Transaction.defer(updateSourceTask, sourceNode == null ? 0 : sourceNode.getRank());
         }
     };
 
@@ -89,45 +315,162 @@ class PropertyBinding extends Binding {
         public void invoke(EventArg args) {
             String name = ((PropertyChangeEventArg) args).getPropertyName();
 
-            if(!name.equals(sourceProperty)) return;
+            if(!name.equals(sourceProperty.getName())) return;
 
-            Component source = getSource();
-            Component target = getTarget();
+            if(isSuspended()) {
+                sourceChangedWhileSuspended = true;
+                return;
+            }
 
-            if(source == null || target == null) return;
+            if(updateTargetLimiter != null) {
+                updateTargetLimiter.trigger();
+                return;
+            }
 
-            boolean hasListener = target.removeEventListener(targetChangeListener);
+            Transaction.defer(updateTargetTask, targetNode == null ? 0 : targetNode.getRank());
+        }
+    };
 
-            Object value = source.getProperty(sourceProperty);
+    /**
+     * Writes any values held back by the rate limiters while both sides are still attached.
+     */
+    private void flushLimiters() {
 
-            value = valueConverter.convertToTarget(value);
+        if(updateTargetLimiter != null) {
+            updateTargetLimiter.flush();
+        }
 
-            target.setProperty(targetProperty, value);
+        if(updateSourceLimiter != null) {
+            updateSourceLimiter.flush();
+        }
+    }
 
-            if(hasListener) {
-                target.addEventListener(targetChangeListener);
+    /**
+     * Adds the edge of this binding to the propagation graph. A bidirectional binding is ranked from source to target.
+     * @throws java.lang.RuntimeException
+     *          When the binding would create a cycle.
+     */
+    private void addEdge(Component source, Component target) {
+
+        sourceNode = PropagationGraph.getNode(source, sourceProperty.getName());
+        targetNode = PropagationGraph.getNode(target, targetProperty.getName());
+
+        try {
+            if (bindMode.canBindSourceToTarget()) {
+                PropagationGraph.addEdge(sourceNode, targetNode);
+            } else {
+                PropagationGraph.addEdge(targetNode, sourceNode);
             }
+        } catch (RuntimeException e) {
+            sourceNode = null;
+            targetNode = null;
+            throw e;
         }
-    };
+    }
+
+    private void removeEdge() {
 
+        if(sourceNode == null || targetNode == null) return;
+
+        if (bindMode.canBindSourceToTarget()) {
+            PropagationGraph.removeEdge(sourceNode, targetNode);
+        } else {
+            PropagationGraph.removeEdge(targetNode, sourceNode);
+        }
+
+        sourceNode = null;
+        targetNode = null;
+    }
 
     @Override
-    public void unbind() {
+    public void retarget(Component source, Component target) {
 
-        Component source = getSource();
-        Component target = getTarget();
+        if(!isBound()) {
+            super.retarget(source, target);
+            return;
+        }
+
+        checkRetarget(source, target);
+
+        PropagationGraph.Node oldSourceNode = sourceNode;
+        PropagationGraph.Node oldTargetNode = targetNode;
+
+        removeEdge();
+
+        try {
+            addEdge(source, target);
+        } catch (RuntimeException e) {
+            sourceNode = oldSourceNode;
+            targetNode = oldTargetNode;
+            PropagationGraph.addEdge(bindMode.canBindSourceToTarget() ? sourceNode : targetNode,
+                    bindMode.canBindSourceToTarget() ? targetNode : sourceNode);
+            throw e;
+        }
+
+        super.retarget(source, target);
+    }
+
+    @Override
+    protected void onResume() {
 
-        if(source != null) {
-            source.removeEventListener(sourceChangeListener);
+        if(!sourceChangedWhileSuspended) return;
+
+        sourceChangedWhileSuspended = false;
+        Transaction.defer(updateTargetTask, targetNode == null ? 0 : targetNode.getRank());
+    }
+
+    @Override
+    protected void checkRetarget(Component source, Component target) {
+        Preconditions.checkArgument(source.getClass() == sourceProperty.getObjectType(), "Source component belongs to a different class");
+        Preconditions.checkArgument(target.getClass() == targetProperty.getObjectType(), "Target component belongs to a different class");
+    }
+
+    @Override
+    protected void attachSource(Component source) {
+
+        if(bindMode.canBindSourceToTarget()) {
+            addListener(source, sourceChangeListener);
+            updateTarget();
         }
 
-        if(target != null) {
-            target.removeEventListener(targetChangeListener);
+        super.attachSource(source);
+    }
+
+    @Override
+    protected void detachSource(Component source) {
+        flushLimiters();
+        removeListener(source, sourceChangeListener);
+        synchronized (conversionLock) {
+            lastSourceValue = UNSET;
+            conversionCount.incrementAndGet();
+            cancelConversion();
         }
 
-        super.unbind();
+        super.detachSource(source);
+    }
+
+    @Override
+    protected void attachTarget(Component target) {
+
+        if(bindMode.canBindTargetToSource()) {
+            addListener(target, targetChangeListener);
+            updateSource();
+        }
+
+        super.attachTarget(target);
     }
 
+    @Override
+    protected void detachTarget(Component target) {
+        flushLimiters();
+        removeListener(target, targetChangeListener);
+
+        synchronized (conversionLock) {
+            lastTargetValue = UNSET;
+        }
+
+        super.detachTarget(target);
+    }
 
     @Override
     protected void bind() {
@@ -135,17 +478,16 @@ class PropertyBinding extends Binding {
         Component source = getSource();
         Component target = getTarget();
 
-
-        if(source!= null && bindMode.canBindSourceToTarget()) {
-            source.addEventListener(sourceChangeListener);
-            sourceChangeListener.invoke(new PropertyChangeEventArg(source, sourceProperty));
-        }
-
-        if(target != null && bindMode.canBindTargetToSource()) {
-            target.addEventListener(targetChangeListener);
-            targetChangeListener.invoke(new PropertyChangeEventArg(target, targetProperty));
+        if(source != null && target != null) {
+            addEdge(source, target);
         }
 
         super.bind();
     }
+
+    @Override
+    public void unbind() {
+        removeEdge();
+        super.unbind();
+    }
 }
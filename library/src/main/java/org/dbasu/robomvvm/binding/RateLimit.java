@@ -0,0 +1,124 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.binding;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Limits how often a {@link org.dbasu.robomvvm.binding.Binding} propagates changes. A rate limited binding always
+ * propagates the latest value or event, and propagates any pending change immediately when it is unbound. Timers run
+ * on the UI thread using a single shared handler. Rate limits are immutable and can be shared between bindings.
+ */
+public final class RateLimit {
+
+    enum Mode {
+        NONE, DEBOUNCE, THROTTLE, SAMPLE
+    }
+
+    /**
+     * Propagates every change immediately.
+     */
+    public static final RateLimit NONE = new RateLimit(Mode.NONE, 0);
+
+    private final Mode mode;
+    private final long intervalMillis;
+
+    private RateLimit(Mode mode, long intervalMillis) {
+        this.mode = mode;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Creates a rate limit that propagates a change only once no further changes have happened for an interval. Useful
+     * for propagating text that is being typed.
+     * @param intervalMillis
+     *          The interval in milliseconds. Must be positive.
+     * @return
+     *          The created rate limit.
+     */
+    public static RateLimit debounce(long intervalMillis) {
+        return create(Mode.DEBOUNCE, intervalMillis);
+    }
+
+    /**
+     * Creates a rate limit that propagates the first change immediately, and then at most one change per interval, always
+     * propagating the latest change at the end of an interval.
+     * @param intervalMillis
+     *          The interval in milliseconds. Must be positive.
+     * @return
+     *          The created rate limit.
+     */
+    public static RateLimit throttle(long intervalMillis) {
+        return create(Mode.THROTTLE, intervalMillis);
+    }
+
+    /**
+     * Creates a rate limit that propagates the latest change once at the end of each interval in which changes happened.
+     * Useful for events that fire on every frame, such as scrolling.
+     * @param intervalMillis
+     *          The interval in milliseconds. Must be positive.
+     * @return
+     *          The created rate limit.
+     */
+    public static RateLimit sample(long intervalMillis) {
+        return create(Mode.SAMPLE, intervalMillis);
+    }
+
+    private static RateLimit create(Mode mode, long intervalMillis) {
+        Preconditions.checkArgument(intervalMillis > 0, "intervalMillis must be positive");
+
+        return new RateLimit(mode, intervalMillis);
+    }
+
+    /**
+     * Returns whether this rate limit delays any changes.
+     * @return
+     *          False for {@link #NONE}. True otherwise.
+     */
+    public boolean isLimited() {
+        return mode != Mode.NONE;
+    }
+
+    /**
+     * Gets the interval of this rate limit.
+     * @return
+     *          The interval in milliseconds, or 0 for {@link #NONE}.
+     */
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    Mode getMode() {
+        return mode;
+    }
+}
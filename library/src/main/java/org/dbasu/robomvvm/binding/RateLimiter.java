@@ -0,0 +1,164 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.binding;
+
+import android.os.SystemClock;
+
+import org.dbasu.robomvvm.componentmodel.Transaction;
+import org.dbasu.robomvvm.util.ThreadUtil;
+
+/**
+ * Package private class that applies a {@link org.dbasu.robomvvm.binding.RateLimit} to a task. Call {@link #trigger()}
+ * for every change, and the task is run according to the rate limit, inside a {@link org.dbasu.robomvvm.componentmodel.Transaction}.
+ * May be triggered from any thread. The task runs on the triggering thread when it runs right away, and on the UI thread
+ * when it runs after a delay. The state of the rate limiter is guarded by its lock, which is not held while the task runs.
+ */
+class RateLimiter {
+
+    private final RateLimit rateLimit;
+    private final Runnable task;
+
+    private boolean pending = false;
+    private boolean scheduled = false;
+    private long lastRunTime = -1;
+
+    private final Runnable timer = new Runnable() {
+        @Override
+        public void run() {
+
+            boolean run;
+
+            synchronized (RateLimiter.this) {
+                scheduled = false;
+                run = takePending();
+            }
+
+            if(run) {
+                runTask();
+            }
+        }
+    };
+
+    RateLimiter(RateLimit rateLimit, Runnable task) {
+        this.rateLimit = rateLimit;
+        this.task = task;
+    }
+
+    /**
+     * Notifies the rate limiter of a change.
+     */
+    void trigger() {
+
+        long interval = rateLimit.getIntervalMillis();
+        boolean run = false;
+
+        synchronized (this) {
+            pending = true;
+
+            switch (rateLimit.getMode()) {
+                case DEBOUNCE:
+                    ThreadUtil.removeFromUiThread(timer);
+                    schedule(interval);
+                    break;
+
+                case THROTTLE:
+                    long now = SystemClock.uptimeMillis();
+
+                    if(!scheduled && (lastRunTime < 0 || now - lastRunTime >= interval)) {
+                        run = takePending();
+                    } else if(!scheduled) {
+                        schedule(lastRunTime + interval - now);
+                    }
+                    break;
+
+                case SAMPLE:
+                    if(!scheduled) {
+                        schedule(interval);
+                    }
+                    break;
+
+                default:
+                    run = takePending();
+            }
+        }
+
+        if(run) {
+            runTask();
+        }
+    }
+
+    /**
+     * Runs the task immediately if a change is pending, and stops the timer.
+     */
+    void flush() {
+
+        boolean run;
+
+        synchronized (this) {
+
+            if(scheduled) {
+                ThreadUtil.removeFromUiThread(timer);
+                scheduled = false;
+            }
+
+            run = takePending();
+        }
+
+        if(run) {
+            runTask();
+        }
+    }
+
+    private void schedule(long delayMillis) {
+        scheduled = true;
+        ThreadUtil.postOnUiThread(timer, Math.max(delayMillis, 0));
+    }
+
+    /**
+     * Clears the pending change and records the run time. Must be called while holding the lock.
+     * @return
+     *          True if a change was pending, and the task must be run. False otherwise.
+     */
+    private boolean takePending() {
+
+        if(!pending) return false;
+
+        pending = false;
+        lastRunTime = SystemClock.uptimeMillis();
+        return true;
+    }
+
+    private void runTask() {
+        Transaction.run(task);
+    }
+}
@@ -33,14 +33,21 @@ package org.dbasu.robomvvm.binding;
 
 import com.google.common.base.Preconditions;
 
-import org.apache.commons.lang3.ClassUtils;
-
 /**
- * A value converter that attempts to convert between a source type and a target type.
+ * A value converter that attempts to convert between a source type and a target type. The conversion performed
+ * in each direction is chosen once, when the converter is constructed, from the source type and the target type.
+ *
+ * @param <S>
+ *          The source type.
+ * @param <T>
+ *          The target type.
  */
-public class TypedValueConverter implements ValueConverter {
+public class TypedValueConverter<S, T> implements ValueConverter<S, T> {
+
+    protected final Class<S> sourceType;
+    protected final Class<T> targetType;
 
-    protected final Class sourceType, targetType;
+    private final ConversionStrategy toTarget, toSource;
 
     /**
      * Constructs a typed value converter for converting values between types.
@@ -49,19 +56,23 @@ public class TypedValueConverter implements ValueConverter {
      * @param targetType
      *          The type to convert the source value to in the function {@link #convertToTarget(Object)}.
      */
-    public TypedValueConverter(Class sourceType, Class targetType) {
+    public TypedValueConverter(Class<S> sourceType, Class<T> targetType) {
         Preconditions.checkNotNull(sourceType);
         Preconditions.checkNotNull(targetType);
 
         this.sourceType = sourceType;
         this.targetType = targetType;
+
+        this.toTarget = ConversionStrategy.forTypes(sourceType, targetType);
+        this.toSource = ConversionStrategy.forTypes(targetType, sourceType);
     }
 
 
     /**
-     * Attempt to convert the value of the source property to the target type. If the type of the source property
-     * is assignable to the target type, it performs a cast. If it is not, and the target type is {@link java.lang.String},
-     * it calls the the source property's {@link Object#toString()} function.
+     * Attempt to convert the value of the source property to the target type. If the source type
+     * is assignable to the target type, the value is returned as is. If it is not, and the target type accepts
+     * {@link java.lang.String}s, it calls the the source property's {@link Object#toString()} function. If both
+     * types are numeric, the value is converted using the corresponding {@link java.lang.Number} function.
      *
      * @param value
      *          The value of the source property.
@@ -71,31 +82,17 @@ public class TypedValueConverter implements ValueConverter {
      *          The result of the conversion of the source property to the target type.
      */
     @Override
-    public Object convertToTarget(Object value) {
-
-        if(value == null) return null;
-
-        Class valueType = value.getClass();
-
-
-        if(ClassUtils.isAssignable(targetType, valueType, true)) {
-            return targetType.cast(value);
-        }
-
-        if(ClassUtils.isAssignable(String.class, targetType, true)) {
-            return targetType.cast(value.toString());
-
-        }
-
-        throw new RuntimeException("Unsupported Conversion From " + valueType.getName() + " To " + targetType.getName());
-
+    @SuppressWarnings("unchecked")
+    public T convertToTarget(S value) {
+        return (T) toTarget.convert(value);
     }
 
 
     /**
-     * Attempt to convert the value of the target property to the source type. If the type of the target property
-     * is assignable to the source type, it performs a cast. If it is not, and the source type is {@link java.lang.String},
-     * it calls the the target property's {@link Object#toString()} function.
+     * Attempt to convert the value of the target property to the source type. If the target type
+     * is assignable to the source type, the value is returned as is. If it is not, and the source type accepts
+     * {@link java.lang.String}s, it calls the the target property's {@link Object#toString()} function. If both
+     * types are numeric, the value is converted using the corresponding {@link java.lang.Number} function.
      *
      * @param value
      *          The value of the target property.
@@ -105,23 +102,8 @@ public class TypedValueConverter implements ValueConverter {
      *          The result of the conversion of the target property to the source type.
      */
     @Override
-    public Object convertToSource(Object value) {
-
-        if(value == null) return null;
-
-        Class valueType = value.getClass();
-
-
-        if(ClassUtils.isAssignable(sourceType, valueType, true)) {
-
-            return sourceType.cast(value);
-        }
-
-        if(ClassUtils.isAssignable(String.class, sourceType, true)) {
-            return sourceType.cast(value.toString());
-        }
-
-        throw new RuntimeException(this.getClass().getName() + " Does Not Support Conversion From " + valueType.getName() + " To " + sourceType.getName());
-
+    @SuppressWarnings("unchecked")
+    public S convertToSource(T value) {
+        return (S) toSource.convert(value);
     }
 }
@@ -32,9 +32,15 @@
 package org.dbasu.robomvvm.binding;
 
 /**
- * Converts between source and target values in a {@link org.dbasu.robomvvm.binding.Binding}
+ * Converts between source and target values in a {@link org.dbasu.robomvvm.binding.Binding}. Converters written
+ * against the raw type, converting between {@link java.lang.Object}s, remain valid implementations.
+ *
+ * @param <S>
+ *          The type of the source property.
+ * @param <T>
+ *          The type of the target property.
  */
-public interface ValueConverter {
+public interface ValueConverter<S, T> {
 
     /**
      * Converts a source value into a target value. This is called whenever a source
@@ -45,7 +51,7 @@ public interface ValueConverter {
      * @return
      *          The value to apply to the target.
      */
-    public Object convertToTarget(Object value);
+    public T convertToTarget(S value);
 
 
     /**
@@ -57,5 +63,5 @@ public interface ValueConverter {
      * @return
      *          The value to apply to the target.
      */
-    public Object convertToSource(Object value);
+    public S convertToSource(T value);
 }
@@ -0,0 +1,220 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.binding;
+
+import com.google.common.base.Preconditions;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Global registry of value converters, keyed by source type and target type. Bindings opt in by passing
+ * {@link #AUTOMATIC} as their value converter, and are given the converter that this registry returns for the value
+ * types of their source and target properties. Bindings created without a value converter keep using a
+ * {@link org.dbasu.robomvvm.binding.DefaultValueConverter}. <br/><br/>
+ *
+ * A converter registered for a source type is also used for subclasses and implementations of that type, and a
+ * converter registered for a target type is also used for target properties of its supertypes. The most specific
+ * source type is preferred, then the most specific target type. When no converter is registered for a pair of types,
+ * a shared {@link org.dbasu.robomvvm.binding.DefaultValueConverter} is used if the source type is assignable to the
+ * target type, and a shared {@link org.dbasu.robomvvm.binding.TypedValueConverter} is used otherwise. The result of
+ * each lookup is cached until the next registration.
+ */
+public class ValueConverterRegistry {
+
+    /**
+     * Placeholder converter requesting that a binding choose its converter from this registry. Throws if used directly.
+     */
+    public static final ValueConverter<Object, Object> AUTOMATIC = new ValueConverter<Object, Object>() {
+        @Override
+        public Object convertToTarget(Object value) {
+            throw new UnsupportedOperationException("ValueConverterRegistry.AUTOMATIC Must Be Resolved Before Use");
+        }
+
+        @Override
+        public Object convertToSource(Object value) {
+            throw new UnsupportedOperationException("ValueConverterRegistry.AUTOMATIC Must Be Resolved Before Use");
+        }
+    };
+
+    private static final ValueConverter<Object, Object> DEFAULT = new DefaultValueConverter();
+
+    private static class Key {
+        private final Class<?> sourceType;
+        private final Class<?> targetType;
+
+        private Key(Class<?> sourceType, Class<?> targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof Key)) return false;
+
+            Key other = (Key) o;
+            return sourceType == other.sourceType && targetType == other.targetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sourceType.hashCode() + targetType.hashCode();
+        }
+    }
+
+    private static final Map<Key, ValueConverter<?, ?>> registered = new HashMap<Key, ValueConverter<?, ?>>();
+    private static final Map<Key, ValueConverter<?, ?>> cache = new HashMap<Key, ValueConverter<?, ?>>();
+
+    /**
+     * Registers a value converter for a pair of types, replacing any converter registered for the same pair.
+     * Primitive types are treated as their wrapper types.
+     * @param sourceType
+     *          The source type.
+     * @param targetType
+     *          The target type.
+     * @param valueConverter
+     *          The value converter.
+     * @param <S>
+     *          The source type.
+     * @param <T>
+     *          The target type.
+     */
+    public static synchronized <S, T> void register(Class<S> sourceType, Class<T> targetType, ValueConverter<S, T> valueConverter) {
+        Preconditions.checkNotNull(sourceType);
+        Preconditions.checkNotNull(targetType);
+        Preconditions.checkNotNull(valueConverter);
+
+        registered.put(new Key(ClassUtils.primitiveToWrapper(sourceType), ClassUtils.primitiveToWrapper(targetType)), valueConverter);
+        cache.clear();
+    }
+
+    /**
+     * Gets the value converter to use between a source type and a target type.
+     * @param sourceType
+     *          The value type of the source property.
+     * @param targetType
+     *          The value type of the target property.
+     * @return
+     *          The value converter. The same instance is returned for the same pair of types.
+     */
+    public static synchronized ValueConverter<?, ?> get(Class<?> sourceType, Class<?> targetType) {
+        Preconditions.checkNotNull(sourceType);
+        Preconditions.checkNotNull(targetType);
+
+        Key key = new Key(ClassUtils.primitiveToWrapper(sourceType), ClassUtils.primitiveToWrapper(targetType));
+        ValueConverter<?, ?> ret = cache.get(key);
+
+        if(ret == null) {
+            ret = find(key.sourceType, key.targetType);
+            cache.put(key, ret);
+        }
+
+        return ret;
+    }
+
+    private static ValueConverter<?, ?> find(Class<?> sourceType, Class<?> targetType) {
+
+        if(!registered.isEmpty()) {
+
+            for(Class<?> source : getHierarchy(sourceType)) {
+
+                ValueConverter<?, ?> best = null;
+                Class<?> bestTarget = null;
+
+                for(Map.Entry<Key, ValueConverter<?, ?>> entry : registered.entrySet()) {
+                    Key key = entry.getKey();
+
+                    if(key.sourceType != source || !targetType.isAssignableFrom(key.targetType)) continue;
+
+                    if(bestTarget == null || bestTarget.isAssignableFrom(key.targetType)) {
+                        best = entry.getValue();
+                        bestTarget = key.targetType;
+                    }
+                }
+
+                if(best != null) return best;
+            }
+        }
+
+        if(targetType.isAssignableFrom(sourceType)) {
+            return DEFAULT;
+        }
+
+        return newTypedValueConverter(sourceType, targetType);
+    }
+
+    private static <S, T> ValueConverter<S, T> newTypedValueConverter(Class<S> sourceType, Class<T> targetType) {
+        return new TypedValueConverter<S, T>(sourceType, targetType);
+    }
+
+    /**
+     * Lists a type and all its supertypes, nearest first. Interfaces are listed before superclasses at the same distance.
+     */
+    private static List<Class<?>> getHierarchy(Class<?> type) {
+
+        List<Class<?>> ret = new ArrayList<Class<?>>();
+        Set<Class<?>> visited = new HashSet<Class<?>>();
+        Queue<Class<?>> queue = new ArrayDeque<Class<?>>();
+
+        queue.add(type);
+
+        while(!queue.isEmpty()) {
+            Class<?> current = queue.remove();
+
+            if(!visited.add(current)) continue;
+            ret.add(current);
+
+            for(Class<?> i : current.getInterfaces()) {
+                queue.add(i);
+            }
+
+            if(current.getSuperclass() != null) {
+                queue.add(current.getSuperclass());
+            }
+        }
+
+        if(!visited.contains(Object.class)) {
+            ret.add(Object.class);
+        }
+
+        return ret;
+    }
+}
@@ -38,6 +38,10 @@ import android.view.ViewGroup;
 import android.widget.AdapterView;
 
 import org.dbasu.robomvvm.componentadapter.view.ViewAdapter;
+import org.dbasu.robomvvm.componentmodel.AdapterFactory;
+import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
+import org.dbasu.robomvvm.componentmodel.EventArg;
+import org.dbasu.robomvvm.componentmodel.EventListener;
 import org.dbasu.robomvvm.viewmodel.ViewModel;
 import org.dbasu.robomvvm.viewmodel.ViewModelCollection;
 
@@ -48,6 +52,16 @@ import org.dbasu.robomvvm.viewmodel.ViewModelCollection;
  */
 public class AdapterViewAdapter extends ViewAdapter {
 
+    /**
+     * Creates {@link AdapterViewAdapter} instances for {@link org.dbasu.robomvvm.componentmodel.ComponentAdapter.Associations}.
+     */
+    public static final AdapterFactory FACTORY = new AdapterFactory() {
+        @Override
+        public ComponentAdapter create() {
+            return new AdapterViewAdapter();
+        }
+    };
+
     protected ViewModelCollection source;
 
     /**
@@ -96,20 +110,47 @@ public class AdapterViewAdapter extends ViewAdapter {
     }
 
 
-    private int selectedItem;
+    /**
+     * Subscribes to selection events once the selectedItem property is first read, so that property change events for it
+     * are raised from then on. Adapter views whose selection nobody reads or listens to get no selection listener.
+     */
+    private final EventListener selectionWatcher = new EventListener(ItemSelectEventArg.class) {
+        @Override
+        public void invoke(EventArg args) {
 
+        }
+    };
 
-    private void setSelectedItem(int selectedItem) {
-        this.selectedItem = selectedItem;
-        raisePropertyChangeEvent("selectedItem");
-    }
+    private boolean watchingSelection = false;
 
     /**
-     * Get the position of the selected item.
+     * Get the position of the selected item. Read from the adapter view, so that it is current even while
+     * nothing listens for selection changes. Property change events for the selected item are raised once it has
+     * been read.
      * @return
      */
     public int getSelectedItem() {
-        return selectedItem;
+        watchSelection();
+        return ((AdapterView) targetObject).getSelectedItemPosition();
+    }
+
+    private synchronized void watchSelection() {
+
+        if(watchingSelection) return;
+        watchingSelection = true;
+
+        addEventListener(selectionWatcher);
+    }
+
+    @Override
+    protected void reset() {
+        source = null;
+
+        synchronized (this) {
+            watchingSelection = false;
+        }
+
+        super.reset();
     }
 
     @Override
@@ -120,19 +161,29 @@ public class AdapterViewAdapter extends ViewAdapter {
 
         if(adapterView.isFocusable()) {
 
-            adapterView.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
-
+            addEventSource(new EventSource(ItemSelectEventArg.class) {
                 @Override
-                public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
-                    setSelectedItem(position);
-                    raiseEvent(new ItemSelectEventArg(AdapterViewAdapter.this, position));
+                protected void install() {
+                    adapterView.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+
+                        @Override
+                        public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                            raisePropertyChangeEvent("selectedItem");
+                            raiseEvent(new ItemSelectEventArg(AdapterViewAdapter.this, position));
+                        }
+
+                        @Override
+                        public void onNothingSelected(AdapterView<?> parent) {
+
+                            raisePropertyChangeEvent("selectedItem");
+                            raiseEvent(new ItemSelectEventArg(AdapterViewAdapter.this, -1));
+                        }
+                    });
                 }
 
                 @Override
-                public void onNothingSelected(AdapterView<?> parent) {
-
-                    setSelectedItem(-1);
-                    raiseEvent(new ItemSelectEventArg(AdapterViewAdapter.this, -1));
+                protected void uninstall() {
+                    adapterView.setOnItemSelectedListener(null);
                 }
             });
         }
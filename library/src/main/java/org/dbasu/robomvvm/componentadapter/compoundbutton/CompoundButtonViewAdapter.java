@@ -34,12 +34,24 @@ package org.dbasu.robomvvm.componentadapter.compoundbutton;
 import android.widget.CompoundButton;
 
 import org.dbasu.robomvvm.componentadapter.view.ViewAdapter;
+import org.dbasu.robomvvm.componentmodel.AdapterFactory;
+import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
 
 /**
  * View adapter to adapt a CompoundButton.
  */
 public class CompoundButtonViewAdapter extends ViewAdapter {
 
+    /**
+     * Creates {@link CompoundButtonViewAdapter} instances for {@link org.dbasu.robomvvm.componentmodel.ComponentAdapter.Associations}.
+     */
+    public static final AdapterFactory FACTORY = new AdapterFactory() {
+        @Override
+        public ComponentAdapter create() {
+            return new CompoundButtonViewAdapter();
+        }
+    };
+
     /**
      * Set the checked state of the compound button.
      * @param checked
@@ -57,10 +69,20 @@ public class CompoundButtonViewAdapter extends ViewAdapter {
 
         final CompoundButton compoundButton = (CompoundButton) targetObject;
 
-        compoundButton.setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
+        addEventSource(new EventSource(CheckedChangeEventArg.class) {
+            @Override
+            protected void install() {
+                compoundButton.setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
+                    @Override
+                    public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
+                        raiseEvent(isChecked? new CheckedEventArg(CompoundButtonViewAdapter.this) : new UncheckedEventArg(CompoundButtonViewAdapter.this));
+                    }
+                });
+            }
+
             @Override
-            public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
-                raiseEvent(isChecked? new CheckedEventArg(CompoundButtonViewAdapter.this) : new UncheckedEventArg(CompoundButtonViewAdapter.this));
+            protected void uninstall() {
+                compoundButton.setOnCheckedChangeListener(null);
             }
         });
 
@@ -36,12 +36,24 @@ import android.text.TextWatcher;
 import android.widget.EditText;
 
 import org.dbasu.robomvvm.componentadapter.textview.TextViewAdapter;
+import org.dbasu.robomvvm.componentmodel.AdapterFactory;
+import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
 
 /**
  * Text view adapter to adapt an EditText.
  */
 public class EditTextViewAdapter extends TextViewAdapter {
 
+    /**
+     * Creates {@link EditTextViewAdapter} instances for {@link org.dbasu.robomvvm.componentmodel.ComponentAdapter.Associations}.
+     */
+    public static final AdapterFactory FACTORY = new AdapterFactory() {
+        @Override
+        public ComponentAdapter create() {
+            return new EditTextViewAdapter();
+        }
+    };
+
     /**
      * Return the text of the edit text.
      * @return
@@ -59,8 +71,7 @@ public class EditTextViewAdapter extends TextViewAdapter {
 
         final EditText editText = (EditText) targetObject;
 
-
-        editText.addTextChangedListener(new TextWatcher() {
+        final TextWatcher textWatcher = new TextWatcher() {
             @Override
             public void beforeTextChanged(CharSequence s, int start, int count, int after) {
 
@@ -75,6 +86,18 @@ public class EditTextViewAdapter extends TextViewAdapter {
             public void afterTextChanged(Editable s) {
 
             }
+        };
+
+        addEventSource(new EventSource(TextChangeEventArg.class) {
+            @Override
+            protected void install() {
+                editText.addTextChangedListener(textWatcher);
+            }
+
+            @Override
+            protected void uninstall() {
+                editText.removeTextChangedListener(textWatcher);
+            }
         });
     }
 }
@@ -36,12 +36,24 @@ import android.graphics.drawable.Drawable;
 import android.widget.ImageView;
 
 import org.dbasu.robomvvm.componentadapter.view.ViewAdapter;
+import org.dbasu.robomvvm.componentmodel.AdapterFactory;
+import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
 
 /**
  * View adapter to adapt an ImageView.
  */
 public class ImageViewAdapter extends ViewAdapter {
 
+    /**
+     * Creates {@link ImageViewAdapter} instances for {@link org.dbasu.robomvvm.componentmodel.ComponentAdapter.Associations}.
+     */
+    public static final AdapterFactory FACTORY = new AdapterFactory() {
+        @Override
+        public ComponentAdapter create() {
+            return new ImageViewAdapter();
+        }
+    };
+
     /**
      * Set the source drawable for the image view.
      * @param image
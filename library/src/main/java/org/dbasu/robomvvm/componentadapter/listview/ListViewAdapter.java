@@ -37,6 +37,8 @@ import android.widget.AdapterView;
 import android.widget.ListView;
 
 import org.dbasu.robomvvm.componentadapter.adapterview.AdapterViewAdapter;
+import org.dbasu.robomvvm.componentmodel.AdapterFactory;
+import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
 import org.dbasu.robomvvm.componentmodel.EventArg;
 import org.dbasu.robomvvm.componentmodel.EventListener;
 import org.dbasu.robomvvm.viewmodel.ItemCheckedEventArg;
@@ -47,6 +49,16 @@ import org.dbasu.robomvvm.viewmodel.ViewModelCollection;
  */
 public class ListViewAdapter extends AdapterViewAdapter {
 
+    /**
+     * Creates {@link ListViewAdapter} instances for {@link org.dbasu.robomvvm.componentmodel.ComponentAdapter.Associations}.
+     */
+    public static final AdapterFactory FACTORY = new AdapterFactory() {
+        @Override
+        public ComponentAdapter create() {
+            return new ListViewAdapter();
+        }
+    };
+
     /**
      * The view is not scrolling. Note navigating the list using the trackball counts as being in the
      * idle state since these transitions are not animated.
@@ -112,44 +124,84 @@ public class ListViewAdapter extends AdapterViewAdapter {
         return scrollState;
     }
 
+    @Override
+    protected void reset() {
+        if(source != null) {
+            source.removeEventListener(checkedChangeListener);
+        }
+
+        scrollState = 0;
+        super.reset();
+    }
+
     @Override
     protected void adapt() {
         super.adapt();
 
-        ListView listView = (ListView) targetObject;
+        final ListView listView = (ListView) targetObject;
 
 
         if(listView.isClickable()) {
 
-            listView.setOnItemClickListener(new AdapterView.OnItemClickListener() {
+            addEventSource(new EventSource(ItemClickEventArg.class) {
                 @Override
-                public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
-                    raiseEvent(new ItemClickEventArg(ListViewAdapter.this, position));
+                protected void install() {
+                    listView.setOnItemClickListener(new AdapterView.OnItemClickListener() {
+                        @Override
+                        public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
+                            raiseEvent(new ItemClickEventArg(ListViewAdapter.this, position));
+                        }
+                    });
+                }
+
+                @Override
+                protected void uninstall() {
+                    listView.setOnItemClickListener(null);
                 }
             });
 
-            listView.setOnItemLongClickListener(new AdapterView.OnItemLongClickListener() {
+            addEventSource(new EventSource(ItemLongClickEventArg.class) {
+                @Override
+                protected void install() {
+                    listView.setOnItemLongClickListener(new AdapterView.OnItemLongClickListener() {
+                        @Override
+                        public boolean onItemLongClick(AdapterView<?> parent, View view, int position, long id) {
+                            raiseEvent(new ItemLongClickEventArg(ListViewAdapter.this, position));
+                            return true;
+                        }
+                    });
+                }
+
                 @Override
-                public boolean onItemLongClick(AdapterView<?> parent, View view, int position, long id) {
-                    raiseEvent(new ItemLongClickEventArg(ListViewAdapter.this, position));
-                    return true;
+                protected void uninstall() {
+                    listView.setOnItemLongClickListener(null);
                 }
             });
 
         }
 
-        listView.setOnScrollListener(new AbsListView.OnScrollListener() {
+        addEventSource(new EventSource(ScrollStateChangeEventArg.class, ScrollEventArg.class) {
             @Override
-            public void onScrollStateChanged(AbsListView view, int scrollState) {
+            protected void install() {
+                listView.setOnScrollListener(new AbsListView.OnScrollListener() {
+                    @Override
+                    public void onScrollStateChanged(AbsListView view, int scrollState) {
+
+                        raiseEvent(new ScrollStateChangeEventArg(ListViewAdapter.this, scrollState));
+                    }
 
-                raiseEvent(new ScrollStateChangeEventArg(ListViewAdapter.this, scrollState));
+                    @Override
+                    public void onScroll(AbsListView view, int firstVisibleItem, int visibleItemCount, int totalItemCount) {
+
+                        raiseEvent(new ScrollEventArg(ListViewAdapter.this, firstVisibleItem,
+                                visibleItemCount, totalItemCount));
+                    }
+                });
             }
 
             @Override
-            public void onScroll(AbsListView view, int firstVisibleItem, int visibleItemCount, int totalItemCount) {
-
-                raiseEvent(new ScrollEventArg(ListViewAdapter.this, firstVisibleItem,
-                        visibleItemCount, totalItemCount));
+            protected void uninstall() {
+                listView.setOnScrollListener(null);
             }
         });
     }
@@ -35,6 +35,7 @@ package org.dbasu.robomvvm.componentadapter.menuitem;
 import android.graphics.drawable.Drawable;
 import android.view.MenuItem;
 
+import org.dbasu.robomvvm.componentmodel.AdapterFactory;
 import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
 
 /**
@@ -42,6 +43,16 @@ import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
  */
 public class MenuItemAdapter extends ComponentAdapter {
 
+    /**
+     * Creates {@link MenuItemAdapter} instances for {@link org.dbasu.robomvvm.componentmodel.ComponentAdapter.Associations}.
+     */
+    public static final AdapterFactory FACTORY = new AdapterFactory() {
+        @Override
+        public ComponentAdapter create() {
+            return new MenuItemAdapter();
+        }
+    };
+
 
     /**
      * Set the checked status of the menu item.
@@ -132,28 +143,48 @@ public class MenuItemAdapter extends ComponentAdapter {
     @Override
     protected void adapt() {
 
-        MenuItem menuItem = (MenuItem) targetObject;
+        final MenuItem menuItem = (MenuItem) targetObject;
 
-        menuItem.setOnMenuItemClickListener(new MenuItem.OnMenuItemClickListener() {
+        addEventSource(new EventSource(MenuItemClickEventArg.class) {
             @Override
-            public boolean onMenuItemClick(MenuItem menuItem) {
+            protected void install() {
+                menuItem.setOnMenuItemClickListener(new MenuItem.OnMenuItemClickListener() {
+                    @Override
+                    public boolean onMenuItemClick(MenuItem menuItem) {
+
+                        raiseEvent(new MenuItemClickEventArg(MenuItemAdapter.this));
+                        return true;
+                    }
+                });
+            }
 
-                raiseEvent(new MenuItemClickEventArg(MenuItemAdapter.this));
-                return true;
+            @Override
+            protected void uninstall() {
+                menuItem.setOnMenuItemClickListener(null);
             }
         });
 
-        menuItem.setOnActionExpandListener(new MenuItem.OnActionExpandListener() {
+        addEventSource(new EventSource(MenuItemExpandedChangeEventArg.class) {
             @Override
-            public boolean onMenuItemActionExpand(MenuItem menuItem) {
-                raiseEvent(new MenuItemExpandedChangeEventArg(MenuItemAdapter.this, true));
-                return true;
+            protected void install() {
+                menuItem.setOnActionExpandListener(new MenuItem.OnActionExpandListener() {
+                    @Override
+                    public boolean onMenuItemActionExpand(MenuItem menuItem) {
+                        raiseEvent(new MenuItemExpandedChangeEventArg(MenuItemAdapter.this, true));
+                        return true;
+                    }
+
+                    @Override
+                    public boolean onMenuItemActionCollapse(MenuItem menuItem) {
+                        raiseEvent(new MenuItemExpandedChangeEventArg(MenuItemAdapter.this, false));
+                        return true;
+                    }
+                });
             }
 
             @Override
-            public boolean onMenuItemActionCollapse(MenuItem menuItem) {
-                raiseEvent(new MenuItemExpandedChangeEventArg(MenuItemAdapter.this, false));
-                return true;
+            protected void uninstall() {
+                menuItem.setOnActionExpandListener(null);
             }
         });
     }
@@ -34,12 +34,24 @@ package org.dbasu.robomvvm.componentadapter.progressbar;
 import android.widget.ProgressBar;
 
 import org.dbasu.robomvvm.componentadapter.view.ViewAdapter;
+import org.dbasu.robomvvm.componentmodel.AdapterFactory;
+import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
 
 /**
  * View adapter to adapt a ProgressBar
  */
 public class ProgressBarViewAdapter extends ViewAdapter {
 
+    /**
+     * Creates {@link ProgressBarViewAdapter} instances for {@link org.dbasu.robomvvm.componentmodel.ComponentAdapter.Associations}.
+     */
+    public static final AdapterFactory FACTORY = new AdapterFactory() {
+        @Override
+        public ComponentAdapter create() {
+            return new ProgressBarViewAdapter();
+        }
+    };
+
     /**
      * Set the max extent of the progress bar.
      * @param value
@@ -35,12 +35,24 @@ package org.dbasu.robomvvm.componentadapter.ratingbar;
 import android.widget.RatingBar;
 
 import org.dbasu.robomvvm.componentadapter.progressbar.ProgressBarViewAdapter;
+import org.dbasu.robomvvm.componentmodel.AdapterFactory;
+import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
 
 /**
  * ProgressBar view adaptter to adapt a RatingBar.
  */
 public class RatingBarViewAdapter extends ProgressBarViewAdapter {
 
+    /**
+     * Creates {@link RatingBarViewAdapter} instances for {@link org.dbasu.robomvvm.componentmodel.ComponentAdapter.Associations}.
+     */
+    public static final AdapterFactory FACTORY = new AdapterFactory() {
+        @Override
+        public ComponentAdapter create() {
+            return new RatingBarViewAdapter();
+        }
+    };
+
     /**
      * Get the rating value of the rating bar.
      * @return
@@ -68,10 +80,20 @@ public class RatingBarViewAdapter extends ProgressBarViewAdapter {
 
         final RatingBar ratingBar = (RatingBar) targetObject;
 
-        ratingBar.setOnRatingBarChangeListener(new RatingBar.OnRatingBarChangeListener() {
+        addEventSource(new EventSource(RatingChangeEventArg.class) {
+            @Override
+            protected void install() {
+                ratingBar.setOnRatingBarChangeListener(new RatingBar.OnRatingBarChangeListener() {
+                    @Override
+                    public void onRatingChanged(RatingBar ratingBar, float rating, boolean fromUser) {
+                        raiseEvent(new RatingChangeEventArg(RatingBarViewAdapter.this, rating, fromUser));
+                    }
+                });
+            }
+
             @Override
-            public void onRatingChanged(RatingBar ratingBar, float rating, boolean fromUser) {
-                raiseEvent(new RatingChangeEventArg(RatingBarViewAdapter.this, rating, fromUser));
+            protected void uninstall() {
+                ratingBar.setOnRatingBarChangeListener(null);
             }
         });
     }
@@ -34,12 +34,24 @@ package org.dbasu.robomvvm.componentadapter.seekbar;
 import android.widget.SeekBar;
 
 import org.dbasu.robomvvm.componentadapter.progressbar.ProgressBarViewAdapter;
+import org.dbasu.robomvvm.componentmodel.AdapterFactory;
+import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
 
 /**
  * ProgressBar view adapter to adapt a SeekBar.
  */
 public class SeekBarViewAdapter extends ProgressBarViewAdapter {
 
+    /**
+     * Creates {@link SeekBarViewAdapter} instances for {@link org.dbasu.robomvvm.componentmodel.ComponentAdapter.Associations}.
+     */
+    public static final AdapterFactory FACTORY = new AdapterFactory() {
+        @Override
+        public ComponentAdapter create() {
+            return new SeekBarViewAdapter();
+        }
+    };
+
     /**
      * Gets the progress of the seek bar.
      * @return
@@ -56,20 +68,30 @@ public class SeekBarViewAdapter extends ProgressBarViewAdapter {
 
         final SeekBar seekBar = (SeekBar) targetObject;
 
-        seekBar.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+        addEventSource(new EventSource(ProgressChangeEventArg.class) {
             @Override
-            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
-                raiseEvent(new ProgressChangeEventArg(SeekBarViewAdapter.this, progress, fromUser));
-            }
+            protected void install() {
+                seekBar.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+                    @Override
+                    public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                        raiseEvent(new ProgressChangeEventArg(SeekBarViewAdapter.this, progress, fromUser));
+                    }
 
-            @Override
-            public void onStartTrackingTouch(SeekBar seekBar) {
+                    @Override
+                    public void onStartTrackingTouch(SeekBar seekBar) {
+
+                    }
 
+                    @Override
+                    public void onStopTrackingTouch(SeekBar seekBar) {
+
+                    }
+                });
             }
 
             @Override
-            public void onStopTrackingTouch(SeekBar seekBar) {
-
+            protected void uninstall() {
+                seekBar.setOnSeekBarChangeListener(null);
             }
         });
 
@@ -31,9 +31,13 @@
 
 package org.dbasu.robomvvm.componentadapter.textview;
 
+import android.text.Spanned;
+import android.text.TextUtils;
 import android.widget.TextView;
 
 import org.dbasu.robomvvm.componentadapter.view.ViewAdapter;
+import org.dbasu.robomvvm.componentmodel.AdapterFactory;
+import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
 
 /**
  * View adapter to adapt a TextView.
@@ -41,12 +45,30 @@ import org.dbasu.robomvvm.componentadapter.view.ViewAdapter;
 public class TextViewAdapter extends ViewAdapter {
 
     /**
-     * Sets the text of the text view.
+     * Creates {@link TextViewAdapter} instances for {@link org.dbasu.robomvvm.componentmodel.ComponentAdapter.Associations}.
+     */
+    public static final AdapterFactory FACTORY = new AdapterFactory() {
+        @Override
+        public ComponentAdapter create() {
+            return new TextViewAdapter();
+        }
+    };
+
+    /**
+     * Sets the text of the text view. Does nothing if the text view already shows the same plain text, which avoids
+     * a relayout. Styled text is always replaced, since equal characters may still carry different spans.
      * @param text
      *          The text of the text view.
      */
     public void setText(String text) {
         TextView textView = (TextView) targetObject;
+
+        CharSequence currentText = textView.getText();
+
+        if(currentText == text) return;
+
+        if(!(currentText instanceof Spanned) && TextUtils.equals(currentText, text)) return;
+
         textView.setText(text);
     }
 
@@ -34,16 +34,175 @@ package org.dbasu.robomvvm.componentadapter.view;
 import android.graphics.drawable.Drawable;
 import android.view.View;
 
+import android.view.ViewTreeObserver;
 import android.widget.AdapterView;
 
+import org.dbasu.robomvvm.componentmodel.AdapterFactory;
 import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
+import org.dbasu.robomvvm.componentmodel.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
- * A component adapter to adapt views.
+ * A component adapter to adapt views. Property writes to a view can be deferred while the view is not shown, that is,
+ * while it is detached from its window or it or one of its ancestors is not visible. The latest value of each property
+ * is then applied once, just before the view is next drawn while shown. Enable this using {@link #setDeferUpdatesWhileHidden(boolean)},
+ * or for all view adapters created afterwards using {@link #setDeferUpdatesWhileHiddenByDefault(boolean)}. Tasks passed
+ * to {@link #runBeforeDraw(Runnable)} run at the same moment.
  */
 public class ViewAdapter extends ComponentAdapter {
 
+    /**
+     * Creates {@link ViewAdapter} instances for {@link org.dbasu.robomvvm.componentmodel.ComponentAdapter.Associations}.
+     */
+    public static final AdapterFactory FACTORY = new AdapterFactory() {
+        @Override
+        public ComponentAdapter create() {
+            return new ViewAdapter();
+        }
+    };
+
+    private static boolean deferUpdatesWhileHiddenByDefault = false;
+
+    private boolean deferUpdatesWhileHidden = deferUpdatesWhileHiddenByDefault;
+    private boolean watchingVisibility = false;
+
+    private List<Runnable> drawTasks = null;
+
+    private final ViewTreeObserver.OnPreDrawListener preDrawListener = new ViewTreeObserver.OnPreDrawListener() {
+        @Override
+        public boolean onPreDraw() {
+
+            if(((View) targetObject).isShown()) {
+                stopWatchingVisibility();
+                flushDeferredUpdates();
+                runDrawTasks();
+            }
+
+            return true;
+        }
+    };
+
+    private final View.OnAttachStateChangeListener attachStateChangeListener = new View.OnAttachStateChangeListener() {
+        @Override
+        public void onViewAttachedToWindow(View v) {
+            ViewTreeObserver observer = v.getViewTreeObserver();
+
+            observer.removeOnPreDrawListener(preDrawListener);
+            observer.addOnPreDrawListener(preDrawListener);
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View v) {
+            v.getViewTreeObserver().removeOnPreDrawListener(preDrawListener);
+        }
+    };
+
+    /**
+     * Sets whether view adapters created from now on defer property writes while their views are not shown.
+     * @param defer
+     *              True to defer writes by default. False otherwise.
+     */
+    public static synchronized void setDeferUpdatesWhileHiddenByDefault(boolean defer) {
+        deferUpdatesWhileHiddenByDefault = defer;
+    }
+
+    /**
+     * Sets whether property writes to this view are deferred while it is not shown. Turning deferral off applies any
+     * deferred writes immediately.
+     * @param defer
+     *              True to defer writes while the view is not shown. False otherwise.
+     */
+    public void setDeferUpdatesWhileHidden(boolean defer) {
+        this.deferUpdatesWhileHidden = defer;
+
+        if(!defer) {
+
+            if(drawTasks == null) {
+                stopWatchingVisibility();
+            }
+
+            flushDeferredUpdates();
+        }
+    }
+
+    @Override
+    public void runBeforeDraw(Runnable task) {
+
+        if(drawTasks == null) {
+            drawTasks = new ArrayList<Runnable>();
+        }
+
+        drawTasks.add(task);
+        startWatchingVisibility();
+    }
+
+    @Override
+    protected void reset() {
+        stopWatchingVisibility();
+        drawTasks = null;
+
+        synchronized (ViewAdapter.class) {
+            deferUpdatesWhileHidden = deferUpdatesWhileHiddenByDefault;
+        }
+
+        super.reset();
+    }
+
+    private void runDrawTasks() {
+
+        if(drawTasks == null) return;
+
+        final List<Runnable> tasks = drawTasks;
+        drawTasks = null;
+
+        Transaction.run(new Runnable() {
+            @Override
+            public void run() {
+                for(Runnable task : tasks) {
+                    task.run();
+                }
+            }
+        });
+    }
+
+    @Override
+    protected boolean isUpdateDeferred() {
+        return deferUpdatesWhileHidden && !((View) targetObject).isShown();
+    }
+
+    @Override
+    protected void onUpdateDeferred() {
+        startWatchingVisibility();
+    }
+
+    private void startWatchingVisibility() {
+
+        if(watchingVisibility) return;
+        watchingVisibility = true;
+
+        View view = (View) targetObject;
+        view.addOnAttachStateChangeListener(attachStateChangeListener);
+        view.getViewTreeObserver().addOnPreDrawListener(preDrawListener);
+    }
+
+    private void stopWatchingVisibility() {
+
+        if(!watchingVisibility) return;
+        watchingVisibility = false;
+
+        View view = (View) targetObject;
+        view.removeOnAttachStateChangeListener(attachStateChangeListener);
+
+        ViewTreeObserver observer = view.getViewTreeObserver();
+
+        if(observer.isAlive()) {
+            observer.removeOnPreDrawListener(preDrawListener);
+        }
+    }
+
 
     /**
      *  Set the background to a given resource, or remove the background.
@@ -99,13 +258,24 @@ public class ViewAdapter extends ComponentAdapter {
     @Override
     protected void adapt() {
 
-        View view = (View) targetObject;
+        final View view = (View) targetObject;
+
         if(view.isFocusable()) {
 
-            view.setOnFocusChangeListener(new View.OnFocusChangeListener() {
+            addEventSource(new EventSource(FocusChangeEventArg.class) {
+                @Override
+                protected void install() {
+                    view.setOnFocusChangeListener(new View.OnFocusChangeListener() {
+                        @Override
+                        public void onFocusChange(View v, boolean hasFocus) {
+                            raiseEvent(hasFocus ? new FocusEventArg(ViewAdapter.this) : new FocusLostEventArg(ViewAdapter.this));
+                        }
+                    });
+                }
+
                 @Override
-                public void onFocusChange(View v, boolean hasFocus) {
-                    raiseEvent(hasFocus ? new FocusEventArg(ViewAdapter.this) : new FocusLostEventArg(ViewAdapter.this));
+                protected void uninstall() {
+                    view.setOnFocusChangeListener(null);
                 }
             });
         }
@@ -114,26 +284,47 @@ public class ViewAdapter extends ComponentAdapter {
 
         if(view.isClickable()) {
 
+            addEventSource(new EventSource(LongClickEventArg.class) {
+
+                private boolean wasLongClickable;
 
-            view.setOnLongClickListener(new View.OnLongClickListener() {
                 @Override
-                public boolean onLongClick(View v) {
+                protected void install() {
+                    wasLongClickable = view.isLongClickable();
+                    view.setOnLongClickListener(new View.OnLongClickListener() {
+                        @Override
+                        public boolean onLongClick(View v) {
 
-                    raiseEvent(new LongClickEventArg(ViewAdapter.this));
-                    return true;
+                            raiseEvent(new LongClickEventArg(ViewAdapter.this));
+                            return true;
+                        }
+                    });
                 }
-            });
 
+                @Override
+                protected void uninstall() {
+                    view.setOnLongClickListener(null);
+                    view.setLongClickable(wasLongClickable);
+                }
+            });
 
-            view.setOnClickListener(new View.OnClickListener() {
+            addEventSource(new EventSource(ClickEventArg.class) {
                 @Override
-                public void onClick(View v) {
+                protected void install() {
+                    view.setOnClickListener(new View.OnClickListener() {
+                        @Override
+                        public void onClick(View v) {
 
-                    raiseEvent(new ClickEventArg(ViewAdapter.this));
+                            raiseEvent(new ClickEventArg(ViewAdapter.this));
+                        }
+                    });
                 }
-            });
 
+                @Override
+                protected void uninstall() {
+                    view.setOnClickListener(null);
+                }
+            });
         }
-
     }
 }
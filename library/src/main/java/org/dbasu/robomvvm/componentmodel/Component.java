@@ -39,8 +39,10 @@ import org.apache.commons.lang3.ClassUtils;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Container for events, properties, and actions. Add an {@link org.dbasu.robomvvm.componentmodel.EventListener} to listen
@@ -64,6 +66,7 @@ public class Component  {
 
         if(!listenerList.contains(listener)) {
             listenerList.add(listener);
+            onEventListenerAdded(listener);
         }
     }
 
@@ -93,7 +96,108 @@ public class Component  {
 
         Preconditions.checkNotNull(listener);
 
-        return listenerList.remove(listener);
+        if(!listenerList.remove(listener)) return false;
+
+        onEventListenerRemoved(listener);
+        return true;
+    }
+
+    /**
+     * Adds several event listeners to this component at once. Listeners that are already added are skipped. This is
+     * much cheaper than adding the listeners one at a time when the component already has many listeners.
+     *
+     * @param listeners
+     *          The listeners to add.
+     */
+    public synchronized void addEventListeners(Collection<EventListener> listeners) {
+
+        Preconditions.checkNotNull(listeners);
+
+        Set<EventListener> existing = new HashSet<EventListener>(listenerList);
+
+        for(EventListener listener : listeners) {
+            Preconditions.checkNotNull(listener);
+
+            if(existing.add(listener)) {
+                listenerList.add(listener);
+                onEventListenerAdded(listener);
+            }
+        }
+    }
+
+    /**
+     * Removes several event listeners from this component at once, in a single pass over the attached listeners.
+     *
+     * @param listeners
+     *          The listeners to remove. Listeners that are not added are ignored.
+     */
+    public synchronized void removeEventListeners(Collection<EventListener> listeners) {
+
+        Preconditions.checkNotNull(listeners);
+
+        if(listeners.isEmpty()) return;
+
+        Collection<EventListener> removed = listeners instanceof Set ? listeners : new HashSet<EventListener>(listeners);
+
+        List<EventListener> removedListeners = new ArrayList<EventListener>();
+        int kept = 0;
+
+        for(int i = 0; i < listenerList.size(); i++) {
+            EventListener listener = listenerList.get(i);
+
+            if(removed.contains(listener)) {
+                removedListeners.add(listener);
+            } else {
+                listenerList.set(kept++, listener);
+            }
+        }
+
+        listenerList.subList(kept, listenerList.size()).clear();
+
+        for(EventListener listener : removedListeners) {
+            onEventListenerRemoved(listener);
+        }
+    }
+
+    /**
+     * Removes every event listener from this component.
+     */
+    synchronized void removeAllEventListeners() {
+
+        List<EventListener> listeners = new ArrayList<EventListener>(listenerList);
+        listenerList.clear();
+
+        for(EventListener listener : listeners) {
+            onEventListenerRemoved(listener);
+        }
+    }
+
+    /**
+     * Gets all attached event listeners.
+     */
+    synchronized List<EventListener> getEventListeners() {
+        return new ArrayList<EventListener>(listenerList);
+    }
+
+    /**
+     * Called when an event listener is added to this component, while holding the lock of this component. Override this
+     * in subclasses to start producing events only once someone listens for them.
+     *
+     * @param listener
+     *          The added listener.
+     */
+    protected void onEventListenerAdded(EventListener listener) {
+
+    }
+
+    /**
+     * Called when an event listener is removed from this component, while holding the lock of this component.
+     *
+     * @param listener
+     *          The removed listener.
+     */
+    protected void onEventListenerRemoved(EventListener listener) {
+
     }
 
     /**
@@ -124,7 +228,7 @@ public class Component  {
 
     /**
      * Raise an event with an event arg. All event listeners corresponding to the type of the supplied event arg
-     * are notified.
+     * are notified inside a {@link org.dbasu.robomvvm.componentmodel.Transaction}.
      *
      * @param args
      *          The supplied event arg.
@@ -134,8 +238,13 @@ public class Component  {
 
         List<EventListener> listenerList = this.getEventListenersOfType(args.getClass());
 
-        for(EventListener l : listenerList) {
-            l.invoke(args);
+        Transaction.begin();
+        try {
+            for(EventListener l : listenerList) {
+                l.invoke(args);
+            }
+        } finally {
+            Transaction.end();
         }
     }
 
@@ -174,6 +283,8 @@ public class Component  {
     /**
      * Gets the value of a property with a given name. A getter function is called corresponding to the supplied
      * property name. For example, if the supplied property name is "foo", this will attempt to call {@code getFoo()}.
+     * When called while a {@link org.dbasu.robomvvm.componentmodel.ComputedProperty} is being computed, the property
+     * is recorded as a dependency of the computed property.
      *
      * @throws java.lang.RuntimeException
      *          When a corresponding getter function is not found in this component.
@@ -184,10 +295,75 @@ public class Component  {
      */
     public Object getProperty(String name) {
         Preconditions.checkNotNull(name);
+
+        ComputedProperty.recordRead(this, name);
         return PropertyManager.get().getProperty(this, name);
     }
 
 
+    /**
+     * Gets a pre-resolved accessor for the property with a given name. The accessor can be used with
+     * {@link #getProperty(PropertyAccessor)} and {@link #setProperty(PropertyAccessor, Object)} on any instance
+     * of this component's class, without looking up the getter and setter functions again.
+     *
+     * @throws java.lang.RuntimeException
+     *          When neither a getter function nor a setter function is found for the property in this component.
+     * @param name
+     *          The name of the property.
+     * @return
+     *          The property accessor.
+     */
+    public PropertyAccessor getPropertyAccessor(String name) {
+        Preconditions.checkNotNull(name);
+
+        PropertyAccessor accessor = PropertyManager.get().getPropertyAccessor(getClass(), name);
+
+        if(accessor == null) {
+            throw new RuntimeException("No Property By Name " + name + " Found In Class " + getClass().getName());
+        }
+
+        return accessor;
+    }
+
+
+    /**
+     * Sets a property to a value using a pre-resolved property accessor.
+     *
+     * @throws java.lang.RuntimeException
+     *          When the accessor was not resolved for this component's class, or has no setter function
+     *          accepting the supplied value.
+     * @param accessor
+     *          The property accessor, obtained from {@link #getPropertyAccessor(String)}.
+     * @param value
+     *          The value to set the property to.
+     */
+    public void setProperty(PropertyAccessor accessor, Object value) {
+        Preconditions.checkNotNull(accessor);
+        Preconditions.checkArgument(accessor.getObjectType() == getClass(), "Property accessor belongs to a different class");
+
+        accessor.set(this, value);
+    }
+
+
+    /**
+     * Gets the value of a property using a pre-resolved property accessor.
+     *
+     * @throws java.lang.RuntimeException
+     *          When the accessor was not resolved for this component's class, or has no getter function.
+     * @param accessor
+     *          The property accessor, obtained from {@link #getPropertyAccessor(String)}.
+     * @return
+     *          The value of the property obtained by the getter function.
+     */
+    public Object getProperty(PropertyAccessor accessor) {
+        Preconditions.checkNotNull(accessor);
+        Preconditions.checkArgument(accessor.getObjectType() == getClass(), "Property accessor belongs to a different class");
+
+        ComputedProperty.recordRead(this, accessor.getName());
+        return accessor.get(this);
+    }
+
+
     /**
      * Invoke an action with a supplied name and event arg. Calls all functions in this component whose names match the
      * supplied name, have a void return type, and have either a single argument of a type compatible with the supplied event arg,
@@ -43,8 +43,11 @@ import android.widget.RatingBar;
 import android.widget.SeekBar;
 import android.widget.TextView;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 
+import org.apache.commons.lang3.ClassUtils;
+
 import org.dbasu.robomvvm.componentadapter.adapterview.AdapterViewAdapter;
 import org.dbasu.robomvvm.componentadapter.compoundbutton.CompoundButtonViewAdapter;
 import org.dbasu.robomvvm.componentadapter.edittext.EditTextViewAdapter;
@@ -57,13 +60,22 @@ import org.dbasu.robomvvm.componentadapter.seekbar.SeekBarViewAdapter;
 import org.dbasu.robomvvm.componentadapter.textview.TextViewAdapter;
 import org.dbasu.robomvvm.componentadapter.view.ViewAdapter;
 import org.dbasu.robomvvm.util.ObjectTagger;
+import org.dbasu.robomvvm.util.TagKey;
 
 
+import java.lang.reflect.Constructor;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * An adapter to make components from arbitrary objects. Make associations between object classes and component adapters
@@ -72,84 +84,193 @@ import java.util.Map;
  */
 public class ComponentAdapter extends Component {
 
-    private static final String COMPONENT_ADAPTER = "robomvvm_component_adapter";
+    private static final TagKey<ComponentAdapter> COMPONENT_ADAPTER = TagKey.get("robomvvm_component_adapter", ComponentAdapter.class);
 
     /**
      * Can make associations between arbitrary classes and the {@link ComponentAdapter} subclasses that are used to make
-     * components out of them.
+     * components out of them. Associations are made either with a component adapter class, or with an
+     * {@link org.dbasu.robomvvm.componentmodel.AdapterFactory} that creates adapters without reflection.
      */
     public static class Associations {
 
+        private static class Association {
+            private final Class<? extends ComponentAdapter> adapterType;
+            private final AdapterFactory factory;
+
+            private Association(Class<? extends ComponentAdapter> adapterType, AdapterFactory factory) {
+                this.adapterType = adapterType;
+                this.factory = factory;
+            }
+        }
+
+        /**
+         * Creates adapters of a class that has no factory by calling its no argument constructor. The constructor is looked
+         * up and made accessible once.
+         */
+        private static class ReflectiveAdapterFactory implements AdapterFactory {
+
+            private final Constructor<? extends ComponentAdapter> constructor;
+
+            private ReflectiveAdapterFactory(Class<? extends ComponentAdapter> adapterType) {
+                try {
+                    constructor = adapterType.getDeclaredConstructor();
+                    constructor.setAccessible(true);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public ComponentAdapter create() {
+                try {
+                    return constructor.newInstance();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
         static {
-            adapterTypes = new HashMap<Class<?>, Class<? extends ComponentAdapter>>();
-            set(MenuItem.class, MenuItemAdapter.class);
-            set(View.class, ViewAdapter.class);
-            set(ImageView.class, ImageViewAdapter.class);
-            set(TextView.class, TextViewAdapter.class);
-            set(EditText.class, EditTextViewAdapter.class);
-            set(CompoundButton.class, CompoundButtonViewAdapter.class);
-            set(ProgressBar.class, ProgressBarViewAdapter.class);
-            set(SeekBar.class, SeekBarViewAdapter.class);
-            set(RatingBar.class, RatingBarViewAdapter.class);
-            set(AdapterView.class, AdapterViewAdapter.class);
-            set(ListView.class, ListViewAdapter.class);
-        }
-
-        private static final Map<Class<?>, Class<? extends ComponentAdapter>> adapterTypes;
+            associations = new HashMap<Class<?>, Association>();
+            resolvedAssociations = new ConcurrentHashMap<Class<?>, Optional<Association>>();
+            put(MenuItem.class, MenuItemAdapter.class, MenuItemAdapter.FACTORY);
+            put(View.class, ViewAdapter.class, ViewAdapter.FACTORY);
+            put(ImageView.class, ImageViewAdapter.class, ImageViewAdapter.FACTORY);
+            put(TextView.class, TextViewAdapter.class, TextViewAdapter.FACTORY);
+            put(EditText.class, EditTextViewAdapter.class, EditTextViewAdapter.FACTORY);
+            put(CompoundButton.class, CompoundButtonViewAdapter.class, CompoundButtonViewAdapter.FACTORY);
+            put(ProgressBar.class, ProgressBarViewAdapter.class, ProgressBarViewAdapter.FACTORY);
+            put(SeekBar.class, SeekBarViewAdapter.class, SeekBarViewAdapter.FACTORY);
+            put(RatingBar.class, RatingBarViewAdapter.class, RatingBarViewAdapter.FACTORY);
+            put(AdapterView.class, AdapterViewAdapter.class, AdapterViewAdapter.FACTORY);
+            put(ListView.class, ListViewAdapter.class, ListViewAdapter.FACTORY);
+        }
+
+        private static final Map<Class<?>, Association> associations;
+
+        /**
+         * Resolved associations of concrete classes, including classes that have no association. Replaced whenever an
+         * association is set, so that lookups never need to take a lock.
+         */
+        private static volatile ConcurrentMap<Class<?>, Optional<Association>> resolvedAssociations;
 
         /**
          * Get the associated component adapter class associated with a class. If no
          * component adapter class is associated with the supplied class, then its super classes and interfaces
-         * are searched until a component adapter association is found.
+         * are searched breadth first, so the association of the nearest super class or interface is found. Results are
+         * cached per class until the next call to {@link #set}.
          * @param objectType
          *          The class of the object to find associations for.
          * @return
          *          The associated component adapter class, or null if none is found.
          */
-        public synchronized static Class<? extends ComponentAdapter> get(Class<?> objectType) {
+        public static Class<? extends ComponentAdapter> get(Class<?> objectType) {
+            Association association = find(objectType);
+            return association == null ? null : association.adapterType;
+        }
+
+        /**
+         * Get the adapter factory associated with a class. Super classes and interfaces are searched in the same way as
+         * by {@link #get(Class)}.
+         * @param objectType
+         *          The class of the object to find associations for.
+         * @return
+         *          The associated adapter factory, or null if none is found.
+         */
+        public static AdapterFactory getFactory(Class<?> objectType) {
+            Association association = find(objectType);
+            return association == null ? null : association.factory;
+        }
+
+        private static Association find(Class<?> objectType) {
             Preconditions.checkNotNull(objectType);
 
-            Class<? extends ComponentAdapter> adapterType = null;
+            Optional<Association> ret = resolvedAssociations.get(objectType);
+            if(ret != null) return ret.orNull();
 
-            Class<?> myObjectType = objectType;
+            return resolve(objectType);
+        }
 
-            List<Class<?>> reachableObjectTypes = new ArrayList<Class<?>>();
+        private synchronized static Association resolve(Class<?> objectType) {
 
-            while (myObjectType!= null) {
+            Association association = null;
 
-                reachableObjectTypes.add(myObjectType);
-                reachableObjectTypes.addAll(Arrays.asList(myObjectType.getInterfaces()));
+            Queue<Class<?>> queue = new ArrayDeque<Class<?>>();
+            Set<Class<?>> visited = new HashSet<Class<?>>();
 
-                myObjectType = myObjectType.getSuperclass();
-            }
+            queue.add(objectType);
+            visited.add(objectType);
+
+            while (!queue.isEmpty()) {
+
+                Class<?> klazz = queue.remove();
+
+                association = associations.get(klazz);
+                if(association != null) break;
 
-            for(Class<?> klazz : reachableObjectTypes) {
-                adapterType = adapterTypes.get(klazz);
-                if(adapterType != null) return  adapterType;
+                for(Class<?> interfaceType : klazz.getInterfaces()) {
+                    if(visited.add(interfaceType)) queue.add(interfaceType);
+                }
 
+                Class<?> superType = klazz.getSuperclass();
+
+                if(superType != null && visited.add(superType)) {
+                    queue.add(superType);
+                }
             }
 
-            return null;
+            resolvedAssociations.put(objectType, Optional.fromNullable(association));
+
+            return association;
         }
 
 
         /**
-         * Associates a component adapter class with an arbitrary class.
+         * Associates a component adapter class with an arbitrary class. Adapters are created by calling the no argument
+         * constructor of the component adapter class.
          * @param objectType
          *          The class to make the association for. If an association already exists for this class, then it is overwritten.
          * @param adapterType
          *          The component adapter class to associate with the supplied class.
          *          If this is null, then any existing association of the supplied class is removed.
          */
-        public synchronized static void set(Class<?> objectType, Class<? extends ComponentAdapter> adapterType) {
+        public static void set(Class<?> objectType, Class<? extends ComponentAdapter> adapterType) {
+            Preconditions.checkNotNull(objectType);
+
+            put(objectType, adapterType, adapterType == null ? null : new ReflectiveAdapterFactory(adapterType));
+        }
+
+        /**
+         * Associates a component adapter class with an arbitrary class, creating adapters using an adapter factory instead
+         * of reflection.
+         * @param objectType
+         *          The class to make the association for. If an association already exists for this class, then it is overwritten.
+         * @param adapterType
+         *          The class of the component adapters created by the factory. Returned by {@link #get(Class)}.
+         * @param factory
+         *          The adapter factory to associate with the supplied class.
+         *          If this is null, then any existing association of the supplied class is removed.
+         */
+        public static void set(Class<?> objectType, Class<? extends ComponentAdapter> adapterType, AdapterFactory factory) {
             Preconditions.checkNotNull(objectType);
 
-            if(adapterType != null) {
-                adapterTypes.put(objectType, adapterType);
+            if(factory != null) {
+                Preconditions.checkNotNull(adapterType);
+            }
+
+            put(objectType, adapterType, factory);
+        }
+
+        private synchronized static void put(Class<?> objectType, Class<? extends ComponentAdapter> adapterType, AdapterFactory factory) {
+
+            if(factory != null) {
+                associations.put(objectType, new Association(adapterType, factory));
             }
             else {
-                adapterTypes.remove(objectType);
+                associations.remove(objectType);
             }
+
+            resolvedAssociations = new ConcurrentHashMap<Class<?>, Optional<Association>>();
         }
     }
 
@@ -158,7 +279,10 @@ public class ComponentAdapter extends Component {
      * Create or retrieve the component adapter for the supplied object. Once created, the component adapter is stored as a tag
      * on the supplied object using {@link org.dbasu.robomvvm.util.ObjectTagger}, which stores weak references to the supplied object to
      * allow for Garbage Collection. Any component adapter associated with an object that has been garbage collected is not stored
-     * internally by the library.
+     * internally by the library. The component adapter is taken from the pool of released adapters of its factory if possible, and
+     * created otherwise. This happens without holding any lock, and the adapter is published using
+     * {@link org.dbasu.robomvvm.util.ObjectTagger#putTagIfAbsent}. If several threads create an adapter for the same object
+     * at once, all of them return the adapter that was published first.
      *
      * @param targetObject
      *          The object to get the component adapter for.
@@ -169,41 +293,350 @@ public class ComponentAdapter extends Component {
      *          When no component adapter class is associated with
      *          the class of the supplied object.
      */
-    public synchronized static ComponentAdapter get(Object targetObject) {
+    public static ComponentAdapter get(Object targetObject) {
         Preconditions.checkNotNull(targetObject);
 
-        ComponentAdapter componentAdapter = (ComponentAdapter) ObjectTagger.getTag(targetObject, COMPONENT_ADAPTER);
+        ComponentAdapter componentAdapter = ObjectTagger.getTag(targetObject, COMPONENT_ADAPTER);
         if (componentAdapter != null) return componentAdapter;
 
-        Class<? extends ComponentAdapter> adapterType = Associations.get(targetObject.getClass());
+        AdapterFactory factory = Associations.getFactory(targetObject.getClass());
 
-        if(adapterType == null) {
+        if(factory == null) {
 
             throw new RuntimeException("No ComponentAdapter Subclass Associated With " + targetObject.getClass().getName() +
-                    ". Call ComponentAdapter.Associations.set(Class<?> objectType, Class<? extends ComponentAdapter> adapterType) " +
+                    ". Call ComponentAdapter.Associations.set(Class<?> objectType, Class<? extends ComponentAdapter> adapterType, AdapterFactory factory) " +
                     "To Make The Association.");
         }
 
-        try {
-            componentAdapter = adapterType.newInstance();
+        componentAdapter = Pool.acquire(factory);
+        componentAdapter.targetObject = targetObject;
 
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        ComponentAdapter existing = ObjectTagger.putTagIfAbsent(targetObject, COMPONENT_ADAPTER, componentAdapter);
 
-        componentAdapter.init(targetObject);
+        if(existing != null) {
+            componentAdapter.targetObject = null;
+            Pool.recycle(componentAdapter);
+            return existing;
+        }
 
-        ObjectTagger.setTag(targetObject, COMPONENT_ADAPTER, componentAdapter);
+        componentAdapter.adapt();
 
         return componentAdapter;
     }
 
+
+    /**
+     * Release the component adapter of an object, if it has one. The component adapter is detached from the object, {@link #reset()},
+     * and kept for reuse by the next call to {@link #get(Object)} for an object associated with the same factory. A later call to
+     * {@link #get(Object)} for the released object creates a new component adapter. Bindings that still refer to the component
+     * adapter are unbound. Must be called from the thread that uses the object.
+     *
+     * @param targetObject
+     *          The object to release the component adapter of.
+     * @return
+     *          True if the object had a component adapter. False otherwise.
+     */
+    public static boolean release(Object targetObject) {
+        Preconditions.checkNotNull(targetObject);
+
+        ComponentAdapter componentAdapter = ObjectTagger.removeTag(targetObject, COMPONENT_ADAPTER);
+        if(componentAdapter == null) return false;
+
+        componentAdapter.reset();
+        componentAdapter.targetObject = null;
+        Pool.recycle(componentAdapter);
+
+        return true;
+    }
+
+
+    /**
+     * Sets the largest number of released component adapters kept for reuse per adapter factory. Adapters released while the pool
+     * of their factory is full are left to the garbage collector.
+     * @param size
+     *          The pool size. Zero disables pooling.
+     */
+    public static void setPoolSize(int size) {
+        Preconditions.checkArgument(size >= 0, "Pool size must not be negative");
+
+        Pool.setSize(size);
+    }
+
+
+    /**
+     * Pools of released component adapters, one per adapter factory. Since every built in adapter class has its own factory,
+     * this is one pool per adapter class.
+     */
+    private static class Pool {
+
+        private static final Map<AdapterFactory, ArrayDeque<ComponentAdapter>> pools =
+                new IdentityHashMap<AdapterFactory, ArrayDeque<ComponentAdapter>>();
+
+        private static int size = 16;
+
+        /**
+         * Takes a released component adapter from the pool of a factory, or creates one without holding the pool lock.
+         */
+        private static ComponentAdapter acquire(AdapterFactory factory) {
+
+            ComponentAdapter componentAdapter = poll(factory);
+
+            if(componentAdapter == null) {
+                componentAdapter = factory.create();
+                componentAdapter.factory = factory;
+            }
+
+            return componentAdapter;
+        }
+
+        private synchronized static ComponentAdapter poll(AdapterFactory factory) {
+
+            ArrayDeque<ComponentAdapter> pool = pools.get(factory);
+            return pool == null ? null : pool.poll();
+        }
+
+        private synchronized static void recycle(ComponentAdapter componentAdapter) {
+
+            ArrayDeque<ComponentAdapter> pool = pools.get(componentAdapter.factory);
+
+            if(pool == null) {
+                pool = new ArrayDeque<ComponentAdapter>();
+                pools.put(componentAdapter.factory, pool);
+            }
+
+            if(pool.size() < size) {
+                pool.add(componentAdapter);
+            }
+        }
+
+        private synchronized static void setSize(int size) {
+            Pool.size = size;
+
+            for(ArrayDeque<ComponentAdapter> pool : pools.values()) {
+                while (pool.size() > size) pool.poll();
+            }
+        }
+    }
+
     protected Object targetObject;
 
+    private AdapterFactory factory;
+
+    /**
+     * The latest value written to each property while updates were deferred, in the order the properties were first written.
+     * Only accessed while holding the lock of this component adapter.
+     */
+    private final Map<String, DeferredUpdate> deferredUpdates = new LinkedHashMap<String, DeferredUpdate>();
+
+    private static class DeferredUpdate {
+        private final PropertyAccessor accessor;
+        private final Object value;
+
+        private DeferredUpdate(PropertyAccessor accessor, Object value) {
+            this.accessor = accessor;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Installs and removes a listener on the target object that raises events of some types on this component adapter.
+     * An event source is installed while this component adapter has at least one event listener for one of its types, or for
+     * a super type or subtype of one of them, so that target objects nobody listens to pay no cost for their listeners. Add event sources
+     * in {@link #adapt()} using {@link #addEventSource(EventSource)}.
+     */
+    protected abstract class EventSource {
+
+        private final Class<?>[] eventTypes;
+        private int subscriberCount = 0;
+
+        /**
+         * Construct an event source.
+         * @param eventTypes
+         *          The types of the events raised by the listener of this event source.
+         */
+        protected EventSource(Class<?>... eventTypes) {
+            this.eventTypes = eventTypes.clone();
+        }
+
+        /**
+         * Install the listener on the target object.
+         */
+        protected abstract void install();
+
+        /**
+         * Remove the listener from the target object.
+         */
+        protected abstract void uninstall();
+
+        private boolean receives(EventListener listener) {
+
+            Class<?> listenerType = listener.getEventType();
+
+            for(Class<?> eventType : eventTypes) {
+                if(ClassUtils.isAssignable(eventType, listenerType, true) || ClassUtils.isAssignable(listenerType, eventType, true)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private void subscribe() {
+            if(subscriberCount++ == 0) install();
+        }
+
+        private void unsubscribe() {
+            if(--subscriberCount == 0) uninstall();
+        }
+    }
+
+    private final List<EventSource> eventSources = new ArrayList<EventSource>();
+
     protected ComponentAdapter() {
 
     }
 
+    /**
+     * Add an event source to this component adapter. The event source is installed right away if an event listener for
+     * one of its event types has already been added.
+     * @param eventSource
+     *          The event source to add.
+     */
+    protected final synchronized void addEventSource(EventSource eventSource) {
+        Preconditions.checkNotNull(eventSource);
+
+        eventSources.add(eventSource);
+
+        for(EventListener listener : getEventListeners()) {
+            if(eventSource.receives(listener)) eventSource.subscribe();
+        }
+    }
+
+    @Override
+    protected void onEventListenerAdded(EventListener listener) {
+
+        for(EventSource eventSource : eventSources) {
+            if(eventSource.receives(listener)) eventSource.subscribe();
+        }
+    }
+
+    @Override
+    protected void onEventListenerRemoved(EventListener listener) {
+
+        for(EventSource eventSource : eventSources) {
+            if(eventSource.receives(listener)) eventSource.unsubscribe();
+        }
+    }
+
+    /**
+     * Sets a property to a value, or records the value to be set later if {@link #isUpdateDeferred()} returns true.
+     * Only the latest deferred value of each property is kept.
+     */
+    @Override
+    public void setProperty(String name, Object value) {
+        Preconditions.checkNotNull(name);
+
+        setProperty(getPropertyAccessor(name), value);
+    }
+
+    /**
+     * Sets a property to a value, or records the value to be set later if {@link #isUpdateDeferred()} returns true.
+     * Only the latest deferred value of each property is kept.
+     */
+    @Override
+    public void setProperty(PropertyAccessor accessor, Object value) {
+        Preconditions.checkNotNull(accessor);
+
+        if(isUpdateDeferred()) {
+            boolean first;
+
+            synchronized (this) {
+                first = deferredUpdates.isEmpty();
+
+                deferredUpdates.remove(accessor.getName());
+                deferredUpdates.put(accessor.getName(), new DeferredUpdate(accessor, value));
+            }
+
+            if(first) {
+                onUpdateDeferred();
+            }
+
+            return;
+        }
+
+        synchronized (this) {
+            if(!deferredUpdates.isEmpty()) {
+                deferredUpdates.remove(accessor.getName());
+            }
+        }
+
+        super.setProperty(accessor, value);
+    }
+
+    /**
+     * Checks whether property writes to this component adapter are currently deferred. Override this in subclasses
+     * to defer writes while the target object can not show them, for example while a view is hidden.
+     * @return
+     *          False by default.
+     */
+    protected boolean isUpdateDeferred() {
+        return false;
+    }
+
+    /**
+     * Called when a property write is deferred while no other writes are deferred. Override this in subclasses
+     * to start watching for the moment when {@link #flushDeferredUpdates()} should be called.
+     */
+    protected void onUpdateDeferred() {
+
+    }
+
+    /**
+     * Checks whether any property writes are waiting to be applied.
+     * @return
+     *          True if there are deferred writes. False otherwise.
+     */
+    public synchronized boolean hasDeferredUpdates() {
+        return !deferredUpdates.isEmpty();
+    }
+
+    /**
+     * Run a task just before the adapted object is next drawn. Used by bindings that resolve their source lazily.
+     * The default implementation runs the task immediately. Adapters of drawable objects override this.
+     * @param task
+     *          The task to run.
+     */
+    public void runBeforeDraw(Runnable task) {
+        Preconditions.checkNotNull(task);
+
+        task.run();
+    }
+
+    /**
+     * Applies the latest deferred value of every property written while updates were deferred, inside a single
+     * {@link org.dbasu.robomvvm.componentmodel.Transaction}.
+     */
+    protected void flushDeferredUpdates() {
+
+        final List<DeferredUpdate> updates;
+
+        synchronized (this) {
+            if(deferredUpdates.isEmpty()) return;
+
+            updates = new ArrayList<DeferredUpdate>(deferredUpdates.values());
+            deferredUpdates.clear();
+        }
+
+        Transaction.run(new Runnable() {
+            @Override
+            public void run() {
+                for(DeferredUpdate update : updates) {
+                    ComponentAdapter.super.setProperty(update.accessor, update.value);
+                }
+            }
+        });
+    }
+
     /**
      * Gets the target object of this component adapter.
      * @return
@@ -213,16 +646,28 @@ public class ComponentAdapter extends Component {
         return targetObject;
     }
 
-    private void init(Object targetObject) {
-        this.targetObject = targetObject;
-        adapt();
+    /**
+     * Call this function in subclasses to set up the component adapter.
+     */
+    protected void adapt() {
 
     }
 
     /**
-     * Call this function in subclasses to set up the component adapter.
+     * Called when this component adapter is released, before it is detached from its target object. Raises a
+     * {@link org.dbasu.robomvvm.componentmodel.ReleaseEventArg}, so that bindings that still refer to this component
+     * adapter unbind themselves. Then removes all remaining event listeners, uninstalls and removes all event sources, and drops
+     * deferred property writes. Override this in subclasses to clear any other state kept for the target object, and call the
+     * super class implementation. {@link #adapt()} is called again once the component adapter is attached to a new target object.
      */
-    protected void adapt() {
+    protected void reset() {
+
+        raiseEvent(new ReleaseEventArg(this));
 
+        synchronized (this) {
+            removeAllEventListeners();
+            eventSources.clear();
+            deferredUpdates.clear();
+        }
     }
 }
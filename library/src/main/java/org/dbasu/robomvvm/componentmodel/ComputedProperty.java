@@ -0,0 +1,292 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.componentmodel;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * A property of a {@link org.dbasu.robomvvm.componentmodel.Component} whose value is computed from other properties.
+ * Every property read through {@link org.dbasu.robomvvm.componentmodel.Component#getProperty(String)} or
+ * {@link org.dbasu.robomvvm.componentmodel.Component#getProperty(PropertyAccessor)} while {@link #compute()} runs
+ * is recorded as a dependency. The computed value is memoized until a dependency raises a property change event. It is
+ * then recomputed on the next call to {@link #get()}, or once when the current {@link org.dbasu.robomvvm.componentmodel.Transaction}
+ * ends after the properties it depends on have been written, and a property change event is raised on the owning
+ * component only if the value has changed. <br/><br/>
+ *
+ * Expose the value through a getter on the owning component, so that it can be bound like any other property:
+ *
+ * <pre>
+ * {@code
+ * private final ComputedProperty<Float> tip = new ComputedProperty<Float>(this, "tip") {
+ *     protected Float compute() {
+ *         return (Float) getProperty("subTotal") * (Float) getProperty("generosity") / 100;
+ *     }
+ * };
+ *
+ * public float getTip() {
+ *     return tip.get();
+ * }
+ * }
+ * </pre>
+ *
+ * @param <T>
+ *          The type of the computed value.
+ */
+public abstract class ComputedProperty<T> {
+
+    private static final ThreadLocal<List<ComputedProperty<?>>> evaluating = new ThreadLocal<List<ComputedProperty<?>>>() {
+        @Override
+        protected List<ComputedProperty<?>> initialValue() {
+            return new ArrayList<ComputedProperty<?>>();
+        }
+    };
+
+    private final WeakReference<Component> weakOwnerReference;
+    private final String name;
+    private final PropagationGraph.Node node;
+
+    private Map<Component, Set<String>> dependencies = new WeakHashMap<Component, Set<String>>();
+    private Map<Component, Set<String>> newDependencies = null;
+
+    private T value = null;
+    private boolean valid = false;
+
+    private boolean notified = false;
+    private T notifiedValue = null;
+
+    /**
+     * Construct a computed property.
+     * @param owner
+     *          The component that owns this property. Property change events for this property are raised on it.
+     * @param name
+     *          The name of this property.
+     */
+    public ComputedProperty(Component owner, String name) {
+        this.weakOwnerReference = new WeakReference<Component>(Preconditions.checkNotNull(owner));
+        this.name = Preconditions.checkNotNull(name);
+        this.node = PropagationGraph.getNode(owner, name);
+    }
+
+    /**
+     * Computes the value of this property. Read the properties that the value depends on using
+     * {@link org.dbasu.robomvvm.componentmodel.Component#getProperty(String)}, so that they are tracked as dependencies.
+     * Properties read by calling their getter functions directly are not tracked.
+     * @return
+     *          The computed value.
+     */
+    protected abstract T compute();
+
+    /**
+     * Gets the name of this property.
+     * @return
+     *          The property name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the value of this property, recomputing it if a dependency has changed since it was last computed.
+     * @throws java.lang.RuntimeException
+     *          When the property depends on itself, directly or through bindings.
+     * @return
+     *          The memoized value.
+     */
+    public T get() {
+
+        Component owner = weakOwnerReference.get();
+
+        if(owner != null) {
+            recordRead(owner, name);
+        }
+
+        if(!valid) {
+            evaluate();
+        }
+
+        return value;
+    }
+
+    /**
+     * Marks the value as stale, and schedules a recomputation for the end of the current transaction.
+     */
+    public void invalidate() {
+
+        if(!valid) return;
+
+        valid = false;
+        Transaction.defer(refreshTask, node.getRank());
+    }
+
+    /**
+     * Called by {@link org.dbasu.robomvvm.componentmodel.Component} whenever a property is read, to record it as a
+     * dependency of the computed property that is currently being evaluated, if any.
+     */
+    static void recordRead(Component component, String name) {
+
+        List<ComputedProperty<?>> stack = evaluating.get();
+        if(stack.isEmpty()) return;
+
+        ComputedProperty<?> current = stack.get(stack.size() - 1);
+
+        if(current.weakOwnerReference.get() == component && current.name.equals(name)) return;
+
+        Set<String> names = current.newDependencies.get(component);
+
+        if(names == null) {
+            names = new HashSet<String>();
+            current.newDependencies.put(component, names);
+        }
+
+        names.add(name);
+    }
+
+    private void evaluate() {
+
+        List<ComputedProperty<?>> stack = evaluating.get();
+
+        if(stack.contains(this)) {
+            throw new RuntimeException("Cyclic Dependency In Computed Property " + name);
+        }
+
+        newDependencies = new WeakHashMap<Component, Set<String>>();
+        stack.add(this);
+
+        try {
+            value = compute();
+        } finally {
+            stack.remove(stack.size() - 1);
+        }
+
+        updateDependencies(newDependencies);
+        newDependencies = null;
+        valid = true;
+
+        if(!notified) {
+            notified = true;
+            notifiedValue = value;
+        }
+    }
+
+    private void updateDependencies(Map<Component, Set<String>> updated) {
+
+        List<PropagationGraph.Node> added = new ArrayList<PropagationGraph.Node>();
+
+        try {
+            for(Map.Entry<Component, Set<String>> entry : updated.entrySet()) {
+                Set<String> names = dependencies.get(entry.getKey());
+
+                for(String name : entry.getValue()) {
+                    if(names == null || !names.contains(name)) {
+                        PropagationGraph.Node dependency = PropagationGraph.getNode(entry.getKey(), name);
+                        PropagationGraph.addEdge(dependency, node);
+                        added.add(dependency);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            for(PropagationGraph.Node dependency : added) {
+                PropagationGraph.removeEdge(dependency, node);
+            }
+
+            throw e;
+        }
+
+        for(Map.Entry<Component, Set<String>> entry : dependencies.entrySet()) {
+            Set<String> names = updated.get(entry.getKey());
+
+            for(String name : entry.getValue()) {
+                if(names == null || !names.contains(name)) {
+                    PropagationGraph.removeEdge(PropagationGraph.getNode(entry.getKey(), name), node);
+                }
+            }
+        }
+
+        for(Component component : dependencies.keySet()) {
+            if(!updated.containsKey(component)) {
+                component.removeEventListener(dependencyChangeListener);
+            }
+        }
+
+        for(Component component : updated.keySet()) {
+            if(!dependencies.containsKey(component)) {
+                component.addEventListener(dependencyChangeListener);
+            }
+        }
+
+        dependencies = updated;
+    }
+
+    private final Runnable refreshTask = new Runnable() {
+        @Override
+        public void run() {
+
+            Component owner = weakOwnerReference.get();
+            if(owner == null) return;
+
+            T current = get();
+
+            if(Objects.equal(current, notifiedValue)) return;
+
+            notifiedValue = current;
+            owner.raisePropertyChangeEvent(name);
+        }
+    };
+
+    private final EventListener dependencyChangeListener = new EventListener(PropertyChangeEventArg.class) {
+        @Override
+        public void invoke(EventArg args) {
+
+            Component component = args.getSource();
+
+            if(weakOwnerReference.get() == null) {
+                component.removeEventListener(this);
+                return;
+            }
+
+            Set<String> names = dependencies.get(component);
+            if(names == null || !names.contains(((PropertyChangeEventArg) args).getPropertyName())) return;
+
+            invalidate();
+        }
+    };
+}
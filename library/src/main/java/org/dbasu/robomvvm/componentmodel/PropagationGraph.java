@@ -0,0 +1,199 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.componentmodel;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Tracks which properties are computed from which other properties, through property bindings and
+ * {@link org.dbasu.robomvvm.componentmodel.ComputedProperty}s. The properties and their dependencies form a
+ * directed acyclic graph. Every property is given a rank that is greater than the ranks of all the properties
+ * it depends on, and writes deferred to the end of a {@link org.dbasu.robomvvm.componentmodel.Transaction}
+ * are run in the order of the ranks of the properties they write. Adding a dependency that would create a cycle fails.
+ */
+public final class PropagationGraph {
+
+    /**
+     * A property of a component in the propagation graph.
+     */
+    public static final class Node {
+
+        private final String name;
+        private final Map<Node, Integer> dependents = new HashMap<Node, Integer>();
+        private volatile int rank = 0;
+
+        private Node(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Gets the rank of this property. The rank is greater than the ranks of all the properties this property
+         * depends on.
+         * @return
+         *          The rank.
+         */
+        public int getRank() {
+            return rank;
+        }
+    }
+
+    private static final Map<Component, Map<String, Node>> nodes = new WeakHashMap<Component, Map<String, Node>>();
+
+    private PropagationGraph() {
+
+    }
+
+    /**
+     * Gets the node of a property of a component, creating it if needed.
+     * @param component
+     *          The component.
+     * @param property
+     *          The name of the property.
+     * @return
+     *          The node.
+     */
+    public static synchronized Node getNode(Component component, String property) {
+        Preconditions.checkNotNull(component);
+        Preconditions.checkNotNull(property);
+
+        Map<String, Node> properties = nodes.get(component);
+
+        if(properties == null) {
+            properties = new HashMap<String, Node>();
+            nodes.put(component, properties);
+        }
+
+        Node node = properties.get(property);
+
+        if(node == null) {
+            node = new Node(property);
+            properties.put(property, node);
+        }
+
+        return node;
+    }
+
+    /**
+     * Records that one property is computed from another, and raises the ranks of the dependent property and of
+     * everything computed from it as needed. The same dependency may be added more than once, and must then be removed
+     * as many times.
+     * @throws java.lang.RuntimeException
+     *          When the dependency would create a cycle.
+     * @param from
+     *          The property that is depended upon.
+     * @param to
+     *          The property that is computed from it.
+     */
+    public static synchronized void addEdge(Node from, Node to) {
+        Preconditions.checkNotNull(from);
+        Preconditions.checkNotNull(to);
+
+        if(isReachable(to, from)) {
+            throw new RuntimeException("Cyclic Dependency Between Properties " + from.name + " And " + to.name);
+        }
+
+        Integer count = from.dependents.get(to);
+        from.dependents.put(to, count == null ? 1 : count + 1);
+
+        raiseRank(to, from.rank + 1);
+    }
+
+    /**
+     * Removes a dependency added using {@link #addEdge(Node, Node)}. Ranks are not lowered.
+     * @param from
+     *          The property that is depended upon.
+     * @param to
+     *          The property that is computed from it.
+     */
+    public static synchronized void removeEdge(Node from, Node to) {
+        Preconditions.checkNotNull(from);
+        Preconditions.checkNotNull(to);
+
+        Integer count = from.dependents.get(to);
+        if(count == null) return;
+
+        if(count > 1) {
+            from.dependents.put(to, count - 1);
+        } else {
+            from.dependents.remove(to);
+        }
+    }
+
+    private static boolean isReachable(Node from, Node to) {
+
+        Set<Node> visited = new HashSet<Node>();
+        Deque<Node> stack = new ArrayDeque<Node>();
+        stack.push(from);
+
+        while(!stack.isEmpty()) {
+            Node node = stack.pop();
+
+            if(node == to) return true;
+            if(!visited.add(node)) continue;
+
+            for(Node dependent : node.dependents.keySet()) {
+                stack.push(dependent);
+            }
+        }
+
+        return false;
+    }
+
+    private static void raiseRank(Node node, int rank) {
+
+        Deque<Node> stack = new ArrayDeque<Node>();
+
+        if(node.rank >= rank) return;
+        node.rank = rank;
+        stack.push(node);
+
+        while(!stack.isEmpty()) {
+            Node current = stack.pop();
+
+            for(Node dependent : current.dependents.keySet()) {
+                if(dependent.rank <= current.rank) {
+                    dependent.rank = current.rank + 1;
+                    stack.push(dependent);
+                }
+            }
+        }
+    }
+}
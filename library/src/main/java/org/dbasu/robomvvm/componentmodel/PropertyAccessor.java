@@ -0,0 +1,223 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.componentmodel;
+
+import android.app.Activity;
+import android.view.View;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterables;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+/**
+ * A pre-resolved property of a class. Holds the getter function and the setter functions of a property so that
+ * they need not be looked up on every access. Obtain one using {@link Component#getPropertyAccessor(String)}.
+ * Property accessors are immutable and can be shared between threads and between instances of the same class.
+ */
+public final class PropertyAccessor {
+
+    private static class SetterCache {
+        private final Class<?> valueType;
+        private final Method setter;
+
+        private SetterCache(Class<?> valueType, Method setter) {
+            this.valueType = valueType;
+            this.setter = setter;
+        }
+    }
+
+    private final Class<?> objectType;
+    private final String name;
+    private final Method getter;
+    private final Collection<Method> setters;
+
+    private volatile SetterCache setterCache;
+
+    PropertyAccessor(Class<?> objectType, String name, Collection<Method> setters, Method getter) {
+        this.objectType = objectType;
+        this.name = name;
+        this.setters = setters;
+        this.getter = getter;
+    }
+
+    /**
+     * Gets the class this property accessor was resolved for.
+     * @return
+     *          The class this property accessor was resolved for.
+     */
+    public Class<?> getObjectType() {
+        return objectType;
+    }
+
+    /**
+     * Gets the name of the property.
+     * @return
+     *          The name of the property.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns whether the property has a getter function.
+     * @return
+     *          True if the property can be read. False otherwise.
+     */
+    public boolean isGettable() {
+        return getter != null;
+    }
+
+    /**
+     * Returns whether the property has at least one setter function.
+     * @return
+     *          True if the property can be written. False otherwise.
+     */
+    public boolean isSettable() {
+        return !setters.isEmpty();
+    }
+
+    /**
+     * Gets the type of the values of this property. This is the return type of the getter function if there is one,
+     * the parameter type of the setter function if there is exactly one, and {@link java.lang.Object} otherwise.
+     * @return
+     *          The value type of the property.
+     */
+    public Class<?> getValueType() {
+
+        if(getter != null) {
+            return getter.getReturnType();
+        }
+
+        if(setters.size() == 1) {
+            return setters.iterator().next().getParameterTypes()[0];
+        }
+
+        return Object.class;
+    }
+
+    /**
+     * Gets the value of this property from an object by calling its getter function.
+     *
+     * @throws java.lang.RuntimeException
+     *          When the property has no getter function.
+     * @param targetObject
+     *          The object to get the property of.
+     * @return
+     *          The value of the property obtained by the getter function.
+     */
+    public Object get(Object targetObject) {
+
+        if(getter == null) {
+            throw new RuntimeException("No Gettable Property By Name " + name + " Found In Class " + objectType.getName());
+        }
+
+        Object ret = null;
+
+        try {
+            ret = getter.invoke(targetObject);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Sets the value of this property on an object. A setter function is chosen based on the type of the supplied value.
+     * The chosen setter is remembered, so consecutive calls with values of the same type do not search the setters again.
+     *
+     * @throws java.lang.RuntimeException
+     *          When the property has no setter function that accepts the supplied value.
+     * @param targetObject
+     *          The object to set the property on.
+     * @param value
+     *          The value to set the property to.
+     */
+    public void set(final Object targetObject, final Object value) {
+
+        if(setters.isEmpty()) {
+            throw new RuntimeException("No Settable Property By Name " + name + " Found In Class " + objectType.getName());
+        }
+
+        final Method setter = getSetter(value.getClass());
+
+        if(targetObject instanceof View) {
+
+            Activity activity = (Activity) ((View) targetObject).getContext();
+
+            activity.runOnUiThread(new Runnable() {
+                @Override
+                public void run() {
+                    reallySet(setter, targetObject, value);
+                }
+            });
+        }
+        else {
+            reallySet(setter, targetObject, value);
+        }
+    }
+
+    private Method getSetter(final Class<?> valueClass) {
+
+        SetterCache cache = setterCache;
+        if(cache != null && cache.valueType == valueClass) return cache.setter;
+
+        Method setter = Iterables.find(setters, new Predicate<Method>() {
+            @Override
+            public boolean apply(Method m) {
+                return ClassUtils.isAssignable(valueClass, m.getParameterTypes()[0], true);
+            }
+        }, null);
+
+        if(setter == null) {
+            throw new RuntimeException("Type Mismatch: Can Not Assign Value Of Type " + valueClass.getName()
+                    + " To Property " + name + " In Class " + objectType.getName());
+        }
+
+        setterCache = new SetterCache(valueClass, setter);
+        return setter;
+    }
+
+    private void reallySet(Method setter, Object targetObject, Object value) {
+
+        try {
+            setter.invoke(targetObject, value);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
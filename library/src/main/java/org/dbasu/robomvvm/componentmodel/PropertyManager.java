@@ -31,16 +31,11 @@
 
 package org.dbasu.robomvvm.componentmodel;
 
-import android.app.Activity;
-import android.view.View;
-
 import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
-import com.google.common.collect.Iterables;
-
-import org.apache.commons.lang3.ClassUtils;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -52,20 +47,6 @@ import java.util.Map;
  */
 class PropertyManager {
 
-    private static class PropertyDescriptor {
-        private final Method getter;
-        private final Collection<Method> setters;
-        private final String name;
-        private final Class objectType;
-
-        PropertyDescriptor(Class objectType, String name, Collection<Method> setters, Method getter) {
-            this.name = name;
-            this.objectType = objectType;
-            this.setters= setters;
-            this.getter = getter;
-        }
-    }
-
     private static final ThreadLocal<PropertyManager> instance = new ThreadLocal<PropertyManager>() {
 
         @Override protected synchronized PropertyManager initialValue() {
@@ -80,17 +61,17 @@ class PropertyManager {
 
     private PropertyManager() { }
 
-    private final Map<String, PropertyDescriptor> propertyMap = new HashMap<String, PropertyDescriptor>();
+    private final Map<String, PropertyAccessor> propertyMap = new HashMap<String, PropertyAccessor>();
 
-    private PropertyDescriptor getPropertyDescriptor(Class objectType, String name) {
+    PropertyAccessor getPropertyAccessor(Class objectType, String name) {
 
         String hash = objectType.getName() + "." + name;
 
-        PropertyDescriptor ret = propertyMap.get(hash);
+        PropertyAccessor ret = propertyMap.get(hash);
 
         if(ret != null) return ret;
 
-        ret = reallyGetPropertyDescriptor(objectType, name);
+        ret = reallyGetPropertyAccessor(objectType, name);
 
         if(ret == null) return null;
 
@@ -99,7 +80,7 @@ class PropertyManager {
         return ret;
     }
 
-    private PropertyDescriptor reallyGetPropertyDescriptor(Class<?> objectType, String name) {
+    private PropertyAccessor reallyGetPropertyAccessor(Class<?> objectType, String name) {
 
 
         final String setName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
@@ -130,76 +111,31 @@ class PropertyManager {
         }
 
         if(getMethod == null && setMethodCollection.size() == 0) return null;
-        return new PropertyDescriptor(objectType, name, setMethodCollection, getMethod);
-    }
-
-    private void reallySetProperty(Method setter, Object targetObject,  Object value) {
-
-        try {
-            setter.invoke(targetObject, value);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        return new PropertyAccessor(objectType, name, new ArrayList<Method>(setMethodCollection), getMethod);
     }
 
-    void setProperty(final Object targetObject, String name, final Object value) {
+    void setProperty(Object targetObject, String name, Object value) {
 
         Class targetType = targetObject.getClass();
 
-        final PropertyDescriptor desc = getPropertyDescriptor(targetType, name);
-        if(desc == null || desc.setters.size() == 0) {
+        PropertyAccessor accessor = getPropertyAccessor(targetType, name);
+        if(accessor == null || !accessor.isSettable()) {
             throw new RuntimeException("No Settable Property By Name " + name + " Found In Class " + targetType.getName());
         }
 
-        final Class valueClass = value.getClass();
-
-
-        final Method setter = Iterables.find(desc.setters, new Predicate<Method>() {
-            @Override
-            public boolean apply(Method m) {
-                return ClassUtils.isAssignable(valueClass, m.getParameterTypes()[0], true);
-            }
-        }, null);
-
-        if(setter == null) {
-            throw new RuntimeException("Type Mismatch: Can Not Assign Value Of Type " + valueClass.getName()
-                    + " To Property " + name + " In Class " + targetType.getName());
-        }
-
-        if(targetObject instanceof View) {
-
-            Activity activity = (Activity) ((View) targetObject).getContext();
-
-            activity.runOnUiThread(new Runnable() {
-                @Override
-                public void run() {
-                    reallySetProperty(setter, targetObject, value);
-                }
-            });
-        }
-        else {
-            reallySetProperty(setter, targetObject, value);
-        }
+        accessor.set(targetObject, value);
     }
 
     Object getProperty(Object targetObject, String name) {
 
         Class targetType = targetObject.getClass();
 
-        PropertyManager.PropertyDescriptor desc = getPropertyDescriptor(targetType, name);
-        if(desc == null || desc.getter == null) {
+        PropertyAccessor accessor = getPropertyAccessor(targetType, name);
+        if(accessor == null || !accessor.isGettable()) {
             throw new RuntimeException("No Gettable Property By Name " + name + " Found In Class " + targetType.getName());
         }
 
-        Object ret = null;
-
-        try {
-            ret = desc.getter.invoke(targetObject);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        return ret;
+        return accessor.get(targetObject);
     }
 
 }
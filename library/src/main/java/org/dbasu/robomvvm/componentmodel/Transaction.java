@@ -0,0 +1,187 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.componentmodel;
+
+import com.google.common.base.Preconditions;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Groups property changes made on a thread into a batch. Work that only needs to happen once per batch, such as
+ * recomputing a value from several changed properties, is deferred using {@link #defer(Runnable)} and runs when the
+ * outermost transaction ends. Every call to {@link org.dbasu.robomvvm.componentmodel.Component#raiseEvent(EventArg)}
+ * runs inside a transaction, so all changes caused by a single event are batched together. Use {@link #run(Runnable)}
+ * to batch several changes that are not caused by the same event. <br/><br/>
+ *
+ * Deferred tasks are run in the order of their ranks, obtained from {@link org.dbasu.robomvvm.componentmodel.PropagationGraph}.
+ * A task that writes a property runs only after the tasks that write the properties it depends on, so every property
+ * is written once, from consistent values.
+ */
+public final class Transaction {
+
+    private static final ThreadLocal<Transaction> current = new ThreadLocal<Transaction>() {
+        @Override
+        protected Transaction initialValue() {
+            return new Transaction();
+        }
+    };
+
+    private int depth = 0;
+    private final TreeMap<Integer, Set<Runnable>> deferred = new TreeMap<Integer, Set<Runnable>>();
+    private final Set<Runnable> pending = new HashSet<Runnable>();
+
+    private Transaction() {
+
+    }
+
+    /**
+     * Begins a transaction on the current thread. Transactions may be nested. Every call must be matched by a call
+     * to {@link #end()}.
+     */
+    public static void begin() {
+        current.get().depth++;
+    }
+
+    /**
+     * Ends a transaction on the current thread. When the outermost transaction ends, all deferred tasks are run in
+     * the order of their ranks, and tasks of the same rank in the order in which they were deferred. Tasks deferred
+     * while running deferred tasks are run in the same flush.
+     */
+    public static void end() {
+        Transaction transaction = current.get();
+
+        Preconditions.checkState(transaction.depth > 0, "Transaction.end called without a matching Transaction.begin");
+
+        if(transaction.depth > 1) {
+            transaction.depth--;
+            return;
+        }
+
+        try {
+            transaction.flush();
+        } finally {
+            transaction.deferred.clear();
+            transaction.pending.clear();
+            transaction.depth = 0;
+        }
+    }
+
+    /**
+     * Runs a task inside a transaction.
+     * @param task
+     *          The task to run.
+     */
+    public static void run(Runnable task) {
+        Preconditions.checkNotNull(task);
+
+        begin();
+        try {
+            task.run();
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Checks whether a transaction is in progress on the current thread.
+     * @return
+     *          True if a transaction is in progress. False otherwise.
+     */
+    public static boolean isActive() {
+        return current.get().depth > 0;
+    }
+
+    /**
+     * Defers a task with rank 0 until the outermost transaction on the current thread ends. A task that is already
+     * waiting to run is not added again. If no transaction is in progress, the task is run immediately.
+     * @param task
+     *          The task to defer.
+     */
+    public static void defer(Runnable task) {
+        defer(task, 0);
+    }
+
+    /**
+     * Defers a task until the outermost transaction on the current thread ends. Tasks with lower ranks are run first.
+     * A task that is already waiting to run is not added again. If no transaction is in progress, the task is run immediately.
+     * @param task
+     *          The task to defer.
+     * @param rank
+     *          The rank of the task, usually the rank of the property it writes in the
+     *          {@link org.dbasu.robomvvm.componentmodel.PropagationGraph}.
+     */
+    public static void defer(Runnable task, int rank) {
+        Preconditions.checkNotNull(task);
+
+        Transaction transaction = current.get();
+
+        if(transaction.depth == 0) {
+            task.run();
+            return;
+        }
+
+        if(!transaction.pending.add(task)) return;
+
+        Set<Runnable> tasks = transaction.deferred.get(rank);
+
+        if(tasks == null) {
+            tasks = new LinkedHashSet<Runnable>();
+            transaction.deferred.put(rank, tasks);
+        }
+
+        tasks.add(task);
+    }
+
+    private void flush() {
+
+        while(!deferred.isEmpty()) {
+            Map.Entry<Integer, Set<Runnable>> first = deferred.firstEntry();
+
+            Iterator<Runnable> iterator = first.getValue().iterator();
+            Runnable task = iterator.next();
+            iterator.remove();
+
+            if(first.getValue().isEmpty()) {
+                deferred.remove(first.getKey());
+            }
+
+            pending.remove(task);
+            task.run();
+        }
+    }
+}
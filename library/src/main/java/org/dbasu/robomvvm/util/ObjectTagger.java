@@ -31,57 +31,192 @@
 
 package org.dbasu.robomvvm.util;
 
+import android.view.View;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.MapMaker;
+
+import org.dbasu.robomvvm.R;
+
 import java.util.HashMap;
-import java.util.WeakHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * Associates arbitrary tags with a supplied object. The tags are indexed using a {@link java.lang.String} key. Stores weak references to the supplied
+ * Associates arbitrary tags with a supplied object. The tags are indexed using a {@link org.dbasu.robomvvm.util.TagKey}, or
+ * a {@link java.lang.String}. Tags of typed keys are stored in slots, and tags of {@link java.lang.String} keys in a small
+ * map kept per object, so that dynamic {@link java.lang.String} keys use no slots. Stores weak references to the supplied
  * objects to allow them to be garbage collected. Automatically removes associated tags when its object is garbage collected.
+ * Objects are compared by identity, so objects that override {@link Object#equals(Object)} never share tags. Tags of typed keys
+ * can be read from any thread without locking, and the tags of different objects can be written concurrently. The tags of a
+ * {@link android.view.View} are stored on the view itself using {@link android.view.View#setTag(int, Object)}, and
+ * bypass the shared map entirely. Views must only be tagged from the UI thread.
  */
 public class ObjectTagger {
 
     private static class Tag {
 
-        private HashMap<String, Object> tags = new HashMap<String, Object>();
+        /**
+         * Tags indexed by the slots of their keys. Replaced by a larger copy when a key with a higher slot is set.
+         */
+        private volatile AtomicReferenceArray<Object> slots = new AtomicReferenceArray<Object>(4);
 
-        void addTag(String key, Object value) {
-            tags.put(key, value);
-        }
+        /**
+         * Tags of {@link java.lang.String} keys. Created when the first one is set, and guarded by the lock of this tag.
+         */
+        private Map<String, Object> namedTags = null;
+
+        private int count = 0;
+
+        /**
+         * Set once the tag has been removed from the tag map. Writers that find a removed tag must create a new one.
+         */
+        private boolean removed = false;
+
+        Object get(Object key) {
+
+            if(key instanceof TagKey) {
+                int index = ((TagKey<?>) key).getIndex();
+                AtomicReferenceArray<Object> slots = this.slots;
+                return index < slots.length() ? slots.get(index) : null;
+            }
 
-        Object removeTag(String key) {
-            return tags.remove(key);
+            synchronized (this) {
+                return namedTags == null ? null : namedTags.get(key);
+            }
         }
 
-        Object get(String key) {
-            return tags.get(key);
+        /**
+         * Must be called while holding the lock of this tag.
+         */
+        void set(Object key, Object value) {
+
+            if(!(key instanceof TagKey)) {
+
+                if(namedTags == null) {
+                    namedTags = new HashMap<String, Object>(4);
+                }
+
+                if(namedTags.put((String) key, value) == null) {
+                    count++;
+                }
+
+                return;
+            }
+
+            int index = ((TagKey<?>) key).getIndex();
+
+            if(index >= slots.length()) {
+                AtomicReferenceArray<Object> newSlots = new AtomicReferenceArray<Object>(Math.max(index + 1, slots.length() * 2));
+
+                for(int i = 0; i < slots.length(); i++) {
+                    newSlots.set(i, slots.get(i));
+                }
+
+                slots = newSlots;
+            }
+
+            if(slots.getAndSet(index, value) == null) {
+                count++;
+            }
         }
 
-        boolean isEmpty() {
-            return  tags.isEmpty();
+        /**
+         * Must be called while holding the lock of this tag.
+         */
+        Object remove(Object key) {
+
+            Object ret;
+
+            if(key instanceof TagKey) {
+                int index = ((TagKey<?>) key).getIndex();
+                if(index >= slots.length()) return null;
+
+                ret = slots.getAndSet(index, null);
+            } else {
+                if(namedTags == null) return null;
+
+                ret = namedTags.remove(key);
+            }
+
+            if(ret != null) {
+                count--;
+            }
+
+            return ret;
         }
     }
 
-    private static WeakHashMap<Object, Tag> tagMap = new WeakHashMap<Object, Tag>();
+    /**
+     * Weak identity map, split into segments that are locked independently for writes. Reads do not lock. Entries of
+     * collected objects are expunged a few at a time during later writes, rather than on every access.
+     */
+    private static final ConcurrentMap<Object, Tag> tagMap = new MapMaker().weakKeys().concurrencyLevel(4).makeMap();
 
     /**
      * Set a tag associated with an object.
      * @param object
      *          The object to set the tag for.
      * @param key
-     *          The {@link java.lang.String} index for the tag.
+     *          The key for the tag.
      * @param value
-     *          The actual tag.
+     *          The actual tag. Setting a null tag removes the tag.
+     * @param <T>
+     *          Generic parameter representing the type of the tag.
      */
-    public static synchronized void setTag(Object object, String key, Object value) {
+    public static <T> void setTag(Object object, TagKey<T> key, T value) {
+        set(object, key, value);
+    }
 
-        Tag tag = tagMap.get(object);
+    /**
+     * Set a tag associated with an object, unless the object already has a tag for the key. The check and the write
+     * happen atomically.
+     * @param object
+     *          The object to set the tag for.
+     * @param key
+     *          The key for the tag.
+     * @param value
+     *          The tag to set. Must not be null.
+     * @param <T>
+     *          Generic parameter representing the type of the tag.
+     * @return
+     *          The existing tag, or null if the supplied tag was set.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T putTagIfAbsent(Object object, TagKey<T> key, T value) {
+        Preconditions.checkNotNull(value);
 
-        if(tag == null) {
-            tag = new Tag();
-            tagMap.put(object, tag);
+        while (true) {
+
+            Tag tag = getTagForWrite(object);
+
+            synchronized (tag) {
+
+                if(tag.removed) continue;
+
+                Object existing = tag.get(key);
+
+                if(existing == null) {
+                    tag.set(key, value);
+                }
+
+                return (T) existing;
+            }
         }
+    }
 
-        tag.addTag(key, value);
+    /**
+     * Set a tag associated with an object.
+     * @param object
+     *          The object to set the tag for.
+     * @param key
+     *          The {@link java.lang.String} index for the tag.
+     * @param value
+     *          The actual tag. Setting a null tag removes the tag.
+     */
+    public static void setTag(Object object, String key, Object value) {
+        set(object, Preconditions.checkNotNull(key), value);
     }
 
     /**
@@ -89,24 +224,44 @@ public class ObjectTagger {
      * @param object
      *      The object to remove the tag from.
      * @param key
-     *      The {@link java.lang.String} index of the tag to remove.
+     *      The key of the tag to remove.
+     * @param <T>
+     *      Generic parameter representing the type of the tag.
      * @return
      *      The tag that has been removed. Null if no such tag exists.
      */
-    public static synchronized Object removeTag(Object object, String key) {
-        Tag tag = tagMap.get(object);
-
-        if(tag == null) {
-            return null;
-        }
-
-        Object ret =  tag.removeTag(key);
+    @SuppressWarnings("unchecked")
+    public static <T> T removeTag(Object object, TagKey<T> key) {
+        return (T) remove(object, key);
+    }
 
-        if(tag.isEmpty()) {
-            tagMap.remove(object);
-        }
+    /**
+     * Removes a tag associated with an object.
+     * @param object
+     *      The object to remove the tag from.
+     * @param key
+     *      The {@link java.lang.String} index of the tag to remove.
+     * @return
+     *      The tag that has been removed. Null if no such tag exists.
+     */
+    public static Object removeTag(Object object, String key) {
+        return remove(object, Preconditions.checkNotNull(key));
+    }
 
-        return  ret;
+    /**
+     * Gets a tag associated with an object.
+     * @param object
+     *      The object to get the tag of.
+     * @param key
+     *      The key of the tag to get.
+     * @param <T>
+     *      Generic parameter representing the type of the tag.
+     * @return
+     *      The associated tag. Null if no such tag exists.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getTag(Object object, TagKey<T> key) {
+        return (T) get(object, key);
     }
 
     /**
@@ -118,13 +273,107 @@ public class ObjectTagger {
      * @return
      *      The associated tag. Null if no such tag exists.
      */
-    public static synchronized Object getTag(Object object, String key) {
+    public static Object getTag(Object object, String key) {
+        return get(object, Preconditions.checkNotNull(key));
+    }
+
+    private static void set(Object object, Object key, Object value) {
+
+        if(value == null) {
+            remove(object, key);
+            return;
+        }
+
+        while (true) {
+
+            Tag tag = getTagForWrite(object);
+
+            synchronized (tag) {
+
+                if(!tag.removed) {
+                    tag.set(key, value);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static Object remove(Object object, Object key) {
+
+        if(object instanceof View) {
+            Tag tag = getViewTag((View) object, false);
+            if(tag == null) return null;
+
+            synchronized (tag) {
+                return tag.remove(key);
+            }
+        }
+
         Tag tag = tagMap.get(object);
 
         if(tag == null) {
             return null;
         }
 
+        synchronized (tag) {
+
+            Object ret = tag.remove(key);
+
+            if(tag.count == 0 && !tag.removed) {
+                tag.removed = true;
+                tagMap.remove(object, tag);
+            }
+
+            return ret;
+        }
+    }
+
+    private static Object get(Object object, Object key) {
+        Tag tag = object instanceof View ? getViewTag((View) object, false) : tagMap.get(object);
+
+        if(tag == null) {
+            return null;
+        }
+
         return tag.get(key);
     }
+
+    /**
+     * Gets the tags of an object, creating them if needed. Tags from the tag map may be removed concurrently, so callers
+     * must check the removed flag while holding the lock of the returned tag.
+     */
+    private static Tag getTagForWrite(Object object) {
+
+        if(object instanceof View) {
+            return getViewTag((View) object, true);
+        }
+
+        Tag tag = tagMap.get(object);
+
+        if(tag == null) {
+            Tag newTag = new Tag();
+            tag = tagMap.putIfAbsent(object, newTag);
+
+            if(tag == null) {
+                tag = newTag;
+            }
+        }
+
+        return tag;
+    }
+
+    /**
+     * Gets the tags stored on a view. The tags of a view are kept for as long as the view is alive, even when empty.
+     */
+    private static Tag getViewTag(View view, boolean create) {
+
+        Tag tag = (Tag) view.getTag(R.id.robomvvm_tags);
+
+        if(tag == null && create) {
+            tag = new Tag();
+            view.setTag(R.id.robomvvm_tags, tag);
+        }
+
+        return tag;
+    }
 }
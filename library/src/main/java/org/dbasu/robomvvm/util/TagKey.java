@@ -0,0 +1,125 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.util;
+
+import com.google.common.base.Preconditions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A typed key for tags stored using {@link org.dbasu.robomvvm.util.ObjectTagger}. Every key name is registered once, and
+ * is given a small integer slot. The tags of an object are stored in an array indexed by these slots, so only a handful
+ * of keys should be registered. Keep registered keys in static final fields. Tags set using the {@link java.lang.String} keyed
+ * methods of ObjectTagger do not register keys.
+ *
+ * @param <T>
+ *          The type of the tags stored using this key.
+ */
+public final class TagKey<T> {
+
+    private static final Map<String, TagKey<?>> keys = new HashMap<String, TagKey<?>>();
+
+    private final String name;
+    private final Class<T> type;
+    private final int index;
+
+    private TagKey(String name, Class<T> type, int index) {
+        this.name = name;
+        this.type = type;
+        this.index = index;
+    }
+
+    /**
+     * Gets the key registered for a name, registering it if this is the first call for the name.
+     *
+     * @throws java.lang.IllegalArgumentException
+     *          When the name is already registered with a different type.
+     * @param name
+     *          The name of the key.
+     * @param type
+     *          The type of the tags stored using the key.
+     * @param <T>
+     *          Generic parameter representing the type of the tags.
+     * @return
+     *          The key registered for the name.
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized <T> TagKey<T> get(String name, Class<T> type) {
+        Preconditions.checkNotNull(name);
+        Preconditions.checkNotNull(type);
+
+        TagKey<?> ret = keys.get(name);
+
+        if(ret == null) {
+            ret = register(name, type);
+        }
+
+        Preconditions.checkArgument(ret.type == type, "Tag key " + name + " is already registered with type " + ret.type.getName());
+
+        return (TagKey<T>) ret;
+    }
+
+    private static <T> TagKey<T> register(String name, Class<T> type) {
+        TagKey<T> ret = new TagKey<T>(name, type, keys.size());
+        keys.put(name, ret);
+        return ret;
+    }
+
+    /**
+     * Gets the name of this key.
+     * @return
+     *          The name of this key.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the type of the tags stored using this key.
+     * @return
+     *          The type of the tags.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
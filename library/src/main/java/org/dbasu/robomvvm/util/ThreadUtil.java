@@ -31,13 +31,16 @@
 
 package org.dbasu.robomvvm.util;
 
+import android.os.Handler;
 import android.os.Looper;
 
 /**
- * Utility functions for validating threads.
+ * Utility functions for validating threads, and for running code on the UI thread.
  */
 public class ThreadUtil {
 
+    private static Handler uiHandler = null;
+
     /**
      * Checks whether the current thread is the UI thread.
      * @return
@@ -46,4 +49,48 @@ public class ThreadUtil {
     public static boolean isUiThread() {
         return Looper.getMainLooper().getThread().equals(Thread.currentThread());
     }
+
+    /**
+     * Runs a task on the UI thread. The task is run immediately if the current thread is the UI thread,
+     * and is posted to the UI thread otherwise.
+     * @param task
+     *          The task to run.
+     */
+    public static void runOnUiThread(Runnable task) {
+
+        if(isUiThread()) {
+            task.run();
+        } else {
+            getUiHandler().post(task);
+        }
+    }
+
+    /**
+     * Posts a task to run on the UI thread after a delay.
+     * @param task
+     *          The task to run.
+     * @param delayMillis
+     *          The delay in milliseconds.
+     */
+    public static void postOnUiThread(Runnable task, long delayMillis) {
+        getUiHandler().postDelayed(task, delayMillis);
+    }
+
+    /**
+     * Removes all pending posts of a task from the UI thread.
+     * @param task
+     *          The task to remove.
+     */
+    public static void removeFromUiThread(Runnable task) {
+        getUiHandler().removeCallbacks(task);
+    }
+
+    private static synchronized Handler getUiHandler() {
+
+        if(uiHandler == null) {
+            uiHandler = new Handler(Looper.getMainLooper());
+        }
+
+        return uiHandler;
+    }
 }
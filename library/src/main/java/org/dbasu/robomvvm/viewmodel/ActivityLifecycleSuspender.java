@@ -0,0 +1,159 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.viewmodel;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+
+import org.dbasu.robomvvm.componentmodel.Transaction;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Package private class that suspends the bindings of view models while their activity is paused, and resumes
+ * them in a single transaction when the activity is resumed.
+ */
+final class ActivityLifecycleSuspender implements Application.ActivityLifecycleCallbacks {
+
+    private static final Set<Application> registeredApplications = new HashSet<Application>();
+    private static final Map<Activity, Map<ViewModel, Boolean>> viewModels = new WeakHashMap<Activity, Map<ViewModel, Boolean>>();
+    private static final Map<Activity, Boolean> pausedActivities = new WeakHashMap<Activity, Boolean>();
+
+    private ActivityLifecycleSuspender() {
+
+    }
+
+    /**
+     * Registers a view model to be suspended while an activity is paused. If the activity is already paused, the
+     * view model is suspended immediately.
+     */
+    static synchronized void register(Activity activity, ViewModel viewModel) {
+
+        Application application = activity.getApplication();
+
+        if(application != null && registeredApplications.add(application)) {
+            application.registerActivityLifecycleCallbacks(new ActivityLifecycleSuspender());
+        }
+
+        Map<ViewModel, Boolean> activityViewModels = viewModels.get(activity);
+
+        if(activityViewModels == null) {
+            activityViewModels = new WeakHashMap<ViewModel, Boolean>();
+            viewModels.put(activity, activityViewModels);
+        }
+
+        activityViewModels.put(viewModel, Boolean.TRUE);
+
+        if(pausedActivities.containsKey(activity)) {
+            viewModel.suspendBindings();
+        }
+    }
+
+    private static synchronized List<ViewModel> getViewModels(Activity activity) {
+
+        Map<ViewModel, Boolean> activityViewModels = viewModels.get(activity);
+        if(activityViewModels == null) return new ArrayList<ViewModel>();
+
+        return new ArrayList<ViewModel>(activityViewModels.keySet());
+    }
+
+    private static synchronized void setPaused(Activity activity, boolean paused) {
+
+        if(paused) {
+            pausedActivities.put(activity, Boolean.TRUE);
+        } else {
+            pausedActivities.remove(activity);
+        }
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+        setPaused(activity, true);
+
+        for(ViewModel viewModel : getViewModels(activity)) {
+            viewModel.suspendBindings();
+        }
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+        setPaused(activity, false);
+
+        final List<ViewModel> activityViewModels = getViewModels(activity);
+        if(activityViewModels.isEmpty()) return;
+
+        Transaction.run(new Runnable() {
+            @Override
+            public void run() {
+                for(ViewModel viewModel : activityViewModels) {
+                    viewModel.resumeBindings();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+
+        synchronized (ActivityLifecycleSuspender.class) {
+            viewModels.remove(activity);
+            pausedActivities.remove(activity);
+        }
+    }
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+
+    }
+
+    @Override
+    public void onActivityStarted(Activity activity) {
+
+    }
+
+    @Override
+    public void onActivityStopped(Activity activity) {
+
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+
+    }
+}
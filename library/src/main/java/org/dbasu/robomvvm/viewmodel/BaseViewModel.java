@@ -39,17 +39,30 @@ import org.dbasu.robomvvm.annotation.SetLayout;
 import org.dbasu.robomvvm.binding.BindMode;
 import org.dbasu.robomvvm.binding.Binding;
 import org.dbasu.robomvvm.binding.DefaultValueConverter;
+import org.dbasu.robomvvm.binding.EqualityStrategy;
+import org.dbasu.robomvvm.binding.RateLimit;
 import org.dbasu.robomvvm.binding.ValueConverter;
 import org.dbasu.robomvvm.componentmodel.Component;
 import org.dbasu.robomvvm.componentmodel.EventArg;
+import org.dbasu.robomvvm.util.TagKey;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Abstract base class for view models. All view models are associated with a context
  * and must contain a {@link org.dbasu.robomvvm.annotation.SetLayout} annotation specifying the resource id to use
- * for its layout.
+ * for its layout, or have the resource id registered using {@link #setLayout(Class, int)}.
  */
 public abstract class BaseViewModel extends Component {
 
+    static final TagKey<BaseViewModel> VIEW_MODEL = TagKey.get("robomvvm_view_model", BaseViewModel.class);
+
+    /**
+     * Layout resource ids of view model classes, either registered using {@link #setLayout(Class, int)} or read from
+     * their {@link org.dbasu.robomvvm.annotation.SetLayout} annotations the first time they are needed.
+     */
+    private static final ConcurrentMap<Class<?>, Integer> layoutIds = new ConcurrentHashMap<Class<?>, Integer>();
 
     protected final Context context;
 
@@ -75,17 +88,42 @@ public abstract class BaseViewModel extends Component {
 
     /**
      * Get the layout resource id associated with this view model. The id is
-     * set using the {@link org.dbasu.robomvvm.annotation.SetLayout} annotation.
+     * set using the {@link org.dbasu.robomvvm.annotation.SetLayout} annotation, or registered using {@link #setLayout(Class, int)}.
+     * The annotation is only read the first time the layout of a view model class is needed.
      * @return
      *          The associated resource Id.
      */
     public int getLayoutId() {
-        Class thisClass = this.getClass();
+        Class<?> thisClass = this.getClass();
 
-        if(!thisClass.isAnnotationPresent(SetLayout.class)) {
-            throw new RuntimeException("Missing InjectLayout annotation in " + thisClass.getName());
+        Integer ret = layoutIds.get(thisClass);
+        if(ret != null) return ret;
+
+        SetLayout setLayout = thisClass.getAnnotation(SetLayout.class);
+
+        if(setLayout == null) {
+            throw new RuntimeException("Missing SetLayout annotation in " + thisClass.getName() +
+                    ". Add The Annotation Or Call BaseViewModel.setLayout(Class<? extends BaseViewModel> viewModelType, int layoutId).");
         }
-        return ((SetLayout) thisClass.getAnnotation(SetLayout.class)).value();
+
+        ret = layoutIds.putIfAbsent(thisClass, setLayout.value());
+        return ret != null ? ret : setLayout.value();
+    }
+
+
+    /**
+     * Register the layout resource id of a view model class, in place of a {@link org.dbasu.robomvvm.annotation.SetLayout}
+     * annotation. Overrides the annotation if the class has one.
+     * @param viewModelType
+     *          The view model class.
+     * @param layoutId
+     *          The layout resource id for {@link org.dbasu.robomvvm.viewmodel.ViewModel} classes, or the menu resource id for
+     *          {@link org.dbasu.robomvvm.viewmodel.MenuViewModel} classes.
+     */
+    public static void setLayout(Class<? extends BaseViewModel> viewModelType, int layoutId) {
+        Preconditions.checkNotNull(viewModelType);
+
+        layoutIds.put(viewModelType, layoutId);
     }
 
 
@@ -108,10 +146,62 @@ public abstract class BaseViewModel extends Component {
      *          The value converter to use for conversion.
      * @param bindMode
      *          The bind mode to use.
+     * @param equalityStrategy
+     *          The equality strategy used to skip redundant writes.
+     * @param rateLimit
+     *          The rate limit applied to changes in either direction.
+     * @return
+     *          The created binding.
+     */
+    protected abstract Binding bindProperty(String property, int elementId, String elementProperty, ValueConverter<?, ?> valueConverter,
+                                            BindMode bindMode, EqualityStrategy equalityStrategy, RateLimit rateLimit);
+
+
+    /**
+     * Bind a property of this view model to a property of an element in its layout. Changes are propagated without
+     * a rate limit.
+     * @param property
+     *          The property of the view model
+     * @param elementId
+     *          The id of the target element.
+     * @param elementProperty
+     *          The property of the target element.
+     * @param valueConverter
+     *          The value converter to use for conversion.
+     * @param bindMode
+     *          The bind mode to use.
+     * @param equalityStrategy
+     *          The equality strategy used to skip redundant writes.
      * @return
      *          The created binding.
      */
-    protected abstract Binding bindProperty(String property, int elementId, String elementProperty, ValueConverter valueConverter, BindMode bindMode);
+    protected final Binding bindProperty(String property, int elementId, String elementProperty, ValueConverter<?, ?> valueConverter,
+                                         BindMode bindMode, EqualityStrategy equalityStrategy) {
+
+        return bindProperty(property, elementId, elementProperty, valueConverter, bindMode, equalityStrategy, RateLimit.NONE);
+    }
+
+
+    /**
+     * Bind a property of this view model to a property of an element in its layout. Every change is written. Use the
+     * overload taking an {@link org.dbasu.robomvvm.binding.EqualityStrategy} to skip redundant writes.
+     * @param property
+     *          The property of the view model
+     * @param elementId
+     *          The id of the target element.
+     * @param elementProperty
+     *          The property of the target element.
+     * @param valueConverter
+     *          The value converter to use for conversion.
+     * @param bindMode
+     *          The bind mode to use.
+     * @return
+     *          The created binding.
+     */
+    protected final Binding bindProperty(String property, int elementId, String elementProperty, ValueConverter<?, ?> valueConverter, BindMode bindMode) {
+
+        return bindProperty(property, elementId, elementProperty, valueConverter, bindMode, EqualityStrategy.NONE);
+    }
 
 
     /**
@@ -122,10 +212,29 @@ public abstract class BaseViewModel extends Component {
      *          The event arg class to bind.
      * @param action
      *          The action of the target element.
+     * @param rateLimit
+     *          The rate limit applied to invocations of the action.
      * @return
      *          The created binding.
      */
-    protected abstract Binding bindAction(int elementId, Class<? extends EventArg> eventType, String action);
+    protected abstract Binding bindAction(int elementId, Class<? extends EventArg> eventType, String action, RateLimit rateLimit);
+
+
+    /**
+     * Binds an event of this view model to an action of an element in its layout. The action is invoked for every event.
+     * @param elementId
+     *          The id of the target element.
+     * @param eventType
+     *          The event arg class to bind.
+     * @param action
+     *          The action of the target element.
+     * @return
+     *          The created binding.
+     */
+    protected final Binding bindAction(int elementId, Class<? extends EventArg> eventType, String action) {
+
+        return bindAction(elementId, eventType, action, RateLimit.NONE);
+    }
 
 
     /**
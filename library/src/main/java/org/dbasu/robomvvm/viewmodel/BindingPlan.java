@@ -0,0 +1,292 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.viewmodel;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import org.dbasu.robomvvm.binding.BindMode;
+import org.dbasu.robomvvm.binding.Binding;
+import org.dbasu.robomvvm.binding.EqualityStrategy;
+import org.dbasu.robomvvm.binding.RateLimit;
+import org.dbasu.robomvvm.binding.ValueConverter;
+import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
+import org.dbasu.robomvvm.componentmodel.EventArg;
+import org.dbasu.robomvvm.componentmodel.PropertyAccessor;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Package private class holding the bindings that {@link ViewModel#bind()} makes for a view model class that declares its
+ * bindings reusable using {@link ViewModel#isBindingPlanReusable()}. The calls to
+ * bindProperty and bindAction are recorded the first time such a view model class binds a view. Later instances of the
+ * class replay the recorded calls instead of running bind() again, using pre-resolved property accessors and child
+ * index paths to find their target views.
+ */
+final class BindingPlan {
+
+    private static final Map<Class<?>, BindingPlan> plans = new HashMap<Class<?>, BindingPlan>();
+
+    /**
+     * Get the binding plan compiled for a view model class.
+     * @param viewModelType
+     *          The view model class.
+     * @return
+     *          The binding plan, or null if the class has not bound a view yet.
+     */
+    static synchronized BindingPlan get(Class<?> viewModelType) {
+        return plans.get(viewModelType);
+    }
+
+    /**
+     * Set the binding plan for a view model class.
+     * @param viewModelType
+     *          The view model class.
+     * @param plan
+     *          The binding plan.
+     */
+    static synchronized void put(Class<?> viewModelType, BindingPlan plan) {
+        plans.put(viewModelType, plan);
+    }
+
+
+    private abstract static class Step {
+
+        private final int viewId;
+        private final int[] viewPath;
+
+        Step(int viewId, int[] viewPath) {
+            this.viewId = viewId;
+            this.viewPath = viewPath;
+        }
+
+        /**
+         * Look the view up in the view index of the root view, or follow the recorded child index path from the root view if
+         * it has no index. Falls back to {@link View#findViewById(int)} if the layout does not have the recorded shape.
+         */
+        View findView(View root) {
+
+            View ret = ViewIndex.find(root, viewId);
+            if(ret != null) return ret;
+
+            ret = root;
+
+            if(viewPath != null) {
+                for (int index : viewPath) {
+
+                    if (!(ret instanceof ViewGroup) || index >= ((ViewGroup) ret).getChildCount()) {
+                        ret = null;
+                        break;
+                    }
+
+                    ret = ((ViewGroup) ret).getChildAt(index);
+                }
+            }
+
+            if(viewPath == null || ret == null || ret.getId() != viewId) {
+                ret = root.findViewById(viewId);
+            }
+
+            return ret;
+        }
+
+        abstract Binding apply(ViewModel viewModel, View root);
+    }
+
+
+    private static class PropertyStep extends Step {
+
+        private final PropertyAccessor property;
+        private final PropertyAccessor viewProperty;
+        private final ValueConverter<?, ?> valueConverter;
+        private final BindMode bindMode;
+        private final EqualityStrategy equalityStrategy;
+        private final RateLimit rateLimit;
+
+        PropertyStep(int viewId, int[] viewPath, PropertyAccessor property, PropertyAccessor viewProperty,
+                     ValueConverter<?, ?> valueConverter, BindMode bindMode, EqualityStrategy equalityStrategy, RateLimit rateLimit) {
+            super(viewId, viewPath);
+            this.property = property;
+            this.viewProperty = viewProperty;
+            this.valueConverter = valueConverter;
+            this.bindMode = bindMode;
+            this.equalityStrategy = equalityStrategy;
+            this.rateLimit = rateLimit;
+        }
+
+        @Override
+        Binding apply(ViewModel viewModel, View root) {
+
+            ComponentAdapter adapter = ComponentAdapter.get(findView(root));
+
+            PropertyAccessor targetProperty = adapter.getClass() == viewProperty.getObjectType() ?
+                    viewProperty : adapter.getPropertyAccessor(viewProperty.getName());
+
+            return Binding.bindProperty(viewModel, property, adapter, targetProperty, valueConverter, bindMode, equalityStrategy, rateLimit);
+        }
+    }
+
+
+    private static class ActionStep extends Step {
+
+        private final Class<? extends EventArg> eventType;
+        private final String action;
+        private final RateLimit rateLimit;
+
+        ActionStep(int viewId, int[] viewPath, Class<? extends EventArg> eventType, String action, RateLimit rateLimit) {
+            super(viewId, viewPath);
+            this.eventType = eventType;
+            this.action = action;
+            this.rateLimit = rateLimit;
+        }
+
+        @Override
+        Binding apply(ViewModel viewModel, View root) {
+
+            ComponentAdapter adapter = ComponentAdapter.get(findView(root));
+            return Binding.bindAction(adapter, viewModel, eventType, action, rateLimit);
+        }
+    }
+
+
+    /**
+     * Records the bindings made by a view model while it runs {@link ViewModel#bind()}.
+     */
+    static class Recorder {
+
+        private final List<Step> steps = new ArrayList<Step>();
+        private boolean reusable = true;
+
+        void recordProperty(View root, View targetView, int viewId, PropertyAccessor property, PropertyAccessor viewProperty,
+                            ValueConverter<?, ?> valueConverter, BindMode bindMode, EqualityStrategy equalityStrategy, RateLimit rateLimit) {
+
+            reusable &= !capturesState(valueConverter);
+            steps.add(new PropertyStep(viewId, getViewPath(root, targetView), property, viewProperty, valueConverter, bindMode, equalityStrategy, rateLimit));
+        }
+
+        void recordAction(View root, View targetView, int viewId, Class<? extends EventArg> eventType, String action, RateLimit rateLimit) {
+
+            steps.add(new ActionStep(viewId, getViewPath(root, targetView), eventType, action, rateLimit));
+        }
+
+        /**
+         * Compile the recorded bindings into a plan.
+         * @param reusable
+         *          Whether the view model class allows its recorded bindings to be replayed.
+         * @return
+         *          The compiled plan. If the class or any of its value converters can not be shared between
+         *          instances, the plan is marked as not reusable, and bind() is run for every instance.
+         */
+        BindingPlan compile(boolean reusable) {
+            return new BindingPlan(reusable && this.reusable ? steps.toArray(new Step[steps.size()]) : null);
+        }
+
+
+        /**
+         * Value converters that hold synthetic fields are inner or anonymous classes that capture their enclosing
+         * view model or local variables, and can not be shared between view model instances.
+         */
+        private static boolean capturesState(Object object) {
+
+            for(Field field : object.getClass().getDeclaredFields()) {
+                if(field.isSynthetic()) return true;
+            }
+
+            return false;
+        }
+
+        private static int[] getViewPath(View root, View view) {
+
+            List<Integer> path = new ArrayList<Integer>();
+
+            View child = view;
+
+            while (child != root) {
+                ViewParent parent = child.getParent();
+                if(!(parent instanceof ViewGroup)) return null;
+
+                path.add(((ViewGroup) parent).indexOfChild(child));
+                child = (View) parent;
+            }
+
+            int[] ret = new int[path.size()];
+
+            for(int i = 0; i < ret.length; i++) {
+                ret[i] = path.get(ret.length - 1 - i);
+            }
+
+            return ret;
+        }
+    }
+
+
+    private final Step[] steps;
+
+    private BindingPlan(Step[] steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * Returns whether the plan can be replayed for new instances.
+     * @return
+     *          True if the plan can be replayed. False if bind() must be called for every instance.
+     */
+    boolean isReusable() {
+        return steps != null;
+    }
+
+    /**
+     * Replay the plan for a view model instance.
+     * @param viewModel
+     *          The view model to bind.
+     * @param root
+     *          The root of the view to bind to.
+     * @return
+     *          The created bindings.
+     */
+    List<Binding> apply(ViewModel viewModel, View root) {
+
+        List<Binding> ret = new ArrayList<Binding>(steps.length);
+
+        for(Step step : steps) {
+            ret.add(step.apply(viewModel, root));
+        }
+
+        return ret;
+    }
+}
@@ -40,6 +40,8 @@ import com.google.common.base.Preconditions;
 
 import org.dbasu.robomvvm.binding.BindMode;
 import org.dbasu.robomvvm.binding.Binding;
+import org.dbasu.robomvvm.binding.EqualityStrategy;
+import org.dbasu.robomvvm.binding.RateLimit;
 import org.dbasu.robomvvm.binding.ValueConverter;
 import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
 import org.dbasu.robomvvm.componentmodel.EventArg;
@@ -51,7 +53,6 @@ import org.dbasu.robomvvm.util.ThreadUtil;
  */
 public class MenuViewModel extends BaseViewModel {
 
-    private static final String VIEW_MODEL = "robomvvm_view_model";
 
     private Menu menu = null;
 
@@ -127,21 +128,28 @@ public class MenuViewModel extends BaseViewModel {
      *          The value converter to use for conversion.
      * @param bindMode
      *          The bind mode to use.
+     * @param equalityStrategy
+     *          The equality strategy used to skip redundant writes.
+     * @param rateLimit
+     *          The rate limit applied to changes in either direction.
      * @return
      *          The created binding.
      */
     @Override
-    protected final Binding bindProperty(String property, int menuId, String menuProperty, ValueConverter valueConverter, BindMode bindMode) {
+    protected final Binding bindProperty(String property, int menuId, String menuProperty, ValueConverter<?, ?> valueConverter,
+                                         BindMode bindMode, EqualityStrategy equalityStrategy, RateLimit rateLimit) {
 
         Preconditions.checkArgument(ThreadUtil.isUiThread(), "MenuViewModel.bindProperty can only be called from the UI thread");
         Preconditions.checkNotNull(property);
         Preconditions.checkNotNull(menuProperty);
         Preconditions.checkNotNull(valueConverter);
         Preconditions.checkNotNull(bindMode);
+        Preconditions.checkNotNull(equalityStrategy);
+        Preconditions.checkNotNull(rateLimit);
 
         MenuItem targetItem = menu.findItem(menuId);
         ComponentAdapter adapter = ComponentAdapter.get(targetItem);
-        Binding binding = Binding.bindProperty(this, property, adapter, menuProperty, valueConverter, bindMode);
+        Binding binding = Binding.bindProperty(this, property, adapter, menuProperty, valueConverter, bindMode, equalityStrategy, rateLimit);
 
         return binding;
     }
@@ -155,19 +163,22 @@ public class MenuViewModel extends BaseViewModel {
      *          The event arg class to bind.
      * @param action
      *          The action of the target menu item.
+     * @param rateLimit
+     *          The rate limit applied to invocations of the action.
      * @return
      *          The created binding.
      */
     @Override
-    protected Binding bindAction(int menuId, Class<? extends EventArg> eventType, String action) {
+    protected Binding bindAction(int menuId, Class<? extends EventArg> eventType, String action, RateLimit rateLimit) {
 
         Preconditions.checkArgument(ThreadUtil.isUiThread(), "MenuViewModel.bindAction can only be called from the UI thread");
         Preconditions.checkNotNull(eventType);
         Preconditions.checkNotNull(action);
+        Preconditions.checkNotNull(rateLimit);
 
         MenuItem targetItem = menu.findItem(menuId);
         ComponentAdapter adapter = ComponentAdapter.get(targetItem);
-        Binding binding =  Binding.bindAction(adapter, this, eventType, action);
+        Binding binding =  Binding.bindAction(adapter, this, eventType, action, rateLimit);
 
         return binding;
     }
@@ -0,0 +1,158 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.viewmodel;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import org.dbasu.robomvvm.util.ObjectTagger;
+import org.dbasu.robomvvm.util.TagKey;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Package private class mapping view ids to the views of an inflated layout. Built once by {@link ViewModel#createView(ViewGroup)}
+ * and stored as a tag on the root view, so that bindings find their target views with a binary search over a sorted id array
+ * instead of walking the view tree, every time the view is bound or recycled.
+ */
+final class ViewIndex {
+
+    private static final TagKey<ViewIndex> VIEW_INDEX = TagKey.get("robomvvm_view_index", ViewIndex.class);
+
+    private final int[] ids;
+    private final View[] views;
+
+    private ViewIndex(Map<Integer, View> entries) {
+        ids = new int[entries.size()];
+        views = new View[entries.size()];
+
+        int i = 0;
+
+        for(Map.Entry<Integer, View> entry : entries.entrySet()) {
+            ids[i] = entry.getKey();
+            views[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    /**
+     * Index the views of a layout, and store the index on its root view. When several views share an id, the first one
+     * in depth first order is indexed, matching {@link View#findViewById(int)}.
+     * @param root
+     *          The root view of the layout.
+     */
+    static void build(View root) {
+
+        Map<Integer, View> entries = new TreeMap<Integer, View>();
+        Deque<View> stack = new ArrayDeque<View>();
+
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+
+            View view = stack.pop();
+            int id = view.getId();
+
+            if(id != View.NO_ID && !entries.containsKey(id)) {
+                entries.put(id, view);
+            }
+
+            if(view instanceof ViewGroup) {
+                ViewGroup viewGroup = (ViewGroup) view;
+
+                for(int i = viewGroup.getChildCount() - 1; i >= 0; i--) {
+                    stack.push(viewGroup.getChildAt(i));
+                }
+            }
+        }
+
+        ObjectTagger.setTag(root, VIEW_INDEX, new ViewIndex(entries));
+    }
+
+    /**
+     * Find a view by its id in the index stored on a root view.
+     * @param root
+     *          The root view of the layout.
+     * @param viewId
+     *          The id of the view to find.
+     * @return
+     *          The view, or null if the root view has no index, or the index has no view with the id that still has it
+     *          and is still a descendant of the root view.
+     */
+    static View find(View root, int viewId) {
+
+        ViewIndex index = ObjectTagger.getTag(root, VIEW_INDEX);
+        if(index == null) return null;
+
+        int position = Arrays.binarySearch(index.ids, viewId);
+        if(position < 0) return null;
+
+        View ret = index.views[position];
+        return ret.getId() == viewId && isDescendant(root, ret) ? ret : null;
+    }
+
+    private static boolean isDescendant(View root, View view) {
+
+        View current = view;
+
+        while (current != root) {
+            ViewParent parent = current.getParent();
+            if(!(parent instanceof View)) return false;
+
+            current = (View) parent;
+        }
+
+        return true;
+    }
+
+    /**
+     * Find a view by its id using the index stored on a root view, falling back to {@link View#findViewById(int)}
+     * if the view is not indexed.
+     * @param root
+     *          The root view of the layout.
+     * @param viewId
+     *          The id of the view to find.
+     * @return
+     *          The view, or null if none is found.
+     */
+    static View findViewById(View root, int viewId) {
+
+        View ret = find(root, viewId);
+        return ret != null ? ret : root.findViewById(viewId);
+    }
+}
@@ -31,8 +31,8 @@
 
 package org.dbasu.robomvvm.viewmodel;
 
+import android.app.Activity;
 import android.content.Context;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
@@ -40,27 +40,41 @@ import com.google.common.base.Preconditions;
 
 import org.dbasu.robomvvm.binding.BindMode;
 import org.dbasu.robomvvm.binding.Binding;
+import org.dbasu.robomvvm.binding.BindingGroup;
+import org.dbasu.robomvvm.binding.EqualityStrategy;
+import org.dbasu.robomvvm.binding.RateLimit;
 import org.dbasu.robomvvm.binding.ValueConverter;
 import org.dbasu.robomvvm.componentmodel.ComponentAdapter;
 import org.dbasu.robomvvm.componentmodel.EventArg;
+import org.dbasu.robomvvm.componentmodel.PropertyAccessor;
+import org.dbasu.robomvvm.componentmodel.Transaction;
 import org.dbasu.robomvvm.util.ObjectTagger;
+import org.dbasu.robomvvm.util.TagKey;
 import org.dbasu.robomvvm.util.ThreadUtil;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * View model used for creating and binding views.
+ * View model used for creating and binding views. {@link #bind()} is run every time a view is bound. View model classes
+ * whose bind() only calls bindProperty and bindAction, identically for every instance, can override
+ * {@link #isBindingPlanReusable()} to return true. Their calls are then recorded the first time the class binds a view,
+ * and replayed for later instances of the class without running bind() again.
  */
 public class ViewModel extends BaseViewModel {
 
-    private static final String VIEW_MODEL = "robomvvm_view_model";
-    private static final String VIEW_BINDINGS = "robomvvm_view_bindings";
+    private static final TagKey<BindingGroup> VIEW_BINDINGS = TagKey.get("robomvvm_view_bindings", BindingGroup.class);
 
     private View view = null;
+    private BindingPlan.Recorder recorder = null;
 
     private final List<Binding> bindings = new ArrayList<Binding>();
 
+    private static boolean suspendBindingsWhilePaused = false;
+
+    private final List<BindingGroup> ownedBindings = new ArrayList<BindingGroup>();
+    private boolean bindingsSuspended = false;
+
     /**
      * Construct a ViewModel with a supplied context.
      * @param context
@@ -73,7 +87,8 @@ public class ViewModel extends BaseViewModel {
 
     /**
      * Attempt to unbind a pre-existing view from its view model and bind it to this
-     * view model.
+     * view model. When the bindings of the view were made from a reusable binding plan, they are retargeted
+     * to this view model instead of being unbound and created again.
      * @param viewToConvert
      *      The view to convert.
      * @return
@@ -86,32 +101,257 @@ public class ViewModel extends BaseViewModel {
 
         if(viewToConvert == null) return null;
 
-        ViewModel otherViewModel = (ViewModel)  ObjectTagger.getTag(viewToConvert, VIEW_MODEL);
+        BaseViewModel taggedViewModel = ObjectTagger.getTag(viewToConvert, VIEW_MODEL);
 
 
-        if(otherViewModel == null || !otherViewModel.getClass().equals(this.getClass())) return null;
+        if(taggedViewModel == null || !taggedViewModel.getClass().equals(this.getClass())) return null;
 
+        ViewModel otherViewModel = (ViewModel) taggedViewModel;
 
-        List<Binding> otherViewBindings = (List<Binding>) ObjectTagger.getTag(viewToConvert, VIEW_BINDINGS);
+        BindingGroup otherViewBindings = ObjectTagger.getTag(viewToConvert, VIEW_BINDINGS);
 
         if(otherViewBindings != null) {
 
-            for (Binding binding : otherViewBindings) {
-                binding.unbind();
+            otherViewModel.releaseBindings(otherViewBindings);
+
+            if(otherViewModel != this && retargetBindings(otherViewBindings, otherViewModel)) {
+                ObjectTagger.setTag(viewToConvert, VIEW_MODEL, this);
+                adoptBindings(otherViewBindings);
+                return viewToConvert;
             }
+
+            otherViewBindings.unbind();
         }
 
         this.view = viewToConvert;
-        bind();
+
+        bindView();
+
+        BindingGroup viewBindings = new BindingGroup(bindings);
 
         ObjectTagger.setTag(viewToConvert, VIEW_MODEL, this);
-        ObjectTagger.setTag(viewToConvert, VIEW_BINDINGS, new ArrayList<Binding>(bindings));
+        ObjectTagger.setTag(viewToConvert, VIEW_BINDINGS, viewBindings);
         this.view = null;
         bindings.clear();
+
+        adoptBindings(viewBindings);
         return viewToConvert;
     }
 
 
+    /**
+     * Unbind a view that is no longer used, along with all view model views inside it, and release the component adapters
+     * of the view and its descendants using {@link org.dbasu.robomvvm.componentmodel.ComponentAdapter#release(Object)}, so that
+     * they are reused for views created later. Call this for views that are thrown away while the application keeps running,
+     * for example the views of a fragment when they are destroyed. The view must not be bound again afterwards.
+     * @param view
+     *      The view to release.
+     */
+    public static void releaseView(View view) {
+
+        Preconditions.checkArgument(ThreadUtil.isUiThread(), "ViewModel.releaseView can only be called from the UI thread");
+        Preconditions.checkNotNull(view);
+
+        BaseViewModel taggedViewModel = ObjectTagger.removeTag(view, VIEW_MODEL);
+        BindingGroup viewBindings = ObjectTagger.removeTag(view, VIEW_BINDINGS);
+
+        if(viewBindings != null) {
+
+            if(taggedViewModel instanceof ViewModel) {
+                ((ViewModel) taggedViewModel).releaseBindings(viewBindings);
+            }
+
+            viewBindings.unbind();
+        }
+
+        if(view instanceof ViewGroup) {
+            ViewGroup viewGroup = (ViewGroup) view;
+
+            for(int i = 0; i < viewGroup.getChildCount(); i++) {
+                releaseView(viewGroup.getChildAt(i));
+            }
+        }
+
+        ComponentAdapter.release(view);
+    }
+
+
+    /**
+     * Sets whether the bindings of view models are suspended while the activity they were created with is paused. While
+     * suspended, changes to view model properties are not written to views. When the activity is resumed, every binding
+     * whose source property changed while it was suspended writes the current value once. Applies to view models bound
+     * to views from now on.
+     * @param suspend
+     *          True to suspend bindings while paused. False otherwise.
+     */
+    public static synchronized void setSuspendBindingsWhilePaused(boolean suspend) {
+        suspendBindingsWhilePaused = suspend;
+    }
+
+
+    /**
+     * Sets the number of views of a layout that are kept inflated ahead of need. Once a view of the layout has been created
+     * using {@link #createView(ViewGroup)}, views with the same context and parent are inflated while the UI thread is idle until
+     * the pool is full. Later calls to createView take views from the pool, and only inflate when it is empty. Useful for the item
+     * layouts of long lists, so that views created while scrolling are not inflated in the middle of a frame.
+     * @param layoutId
+     *          The layout resource id.
+     * @param count
+     *          The number of views to keep inflated. Zero by default, which disables pre-inflation for the layout.
+     */
+    public static void setPreInflatedViewCount(int layoutId, int count) {
+
+        Preconditions.checkArgument(ThreadUtil.isUiThread(), "ViewModel.setPreInflatedViewCount can only be called from the UI thread");
+        Preconditions.checkArgument(count >= 0, "View count must not be negative");
+
+        ViewPool.setSize(layoutId, count);
+    }
+
+
+    /**
+     * Suspends all bindings between this view model and its views. See {@link org.dbasu.robomvvm.binding.Binding#suspend()}.
+     * Bindings made while suspended are suspended as well.
+     */
+    public void suspendBindings() {
+
+        Preconditions.checkArgument(ThreadUtil.isUiThread(), "ViewModel.suspendBindings can only be called from the UI thread");
+
+        bindingsSuspended = true;
+
+        for(BindingGroup viewBindings : ownedBindings) {
+            viewBindings.suspend();
+        }
+    }
+
+
+    /**
+     * Resumes all bindings between this view model and its views, writing only the properties that changed while they were
+     * suspended. See {@link org.dbasu.robomvvm.binding.Binding#resume()}.
+     */
+    public void resumeBindings() {
+
+        Preconditions.checkArgument(ThreadUtil.isUiThread(), "ViewModel.resumeBindings can only be called from the UI thread");
+
+        bindingsSuspended = false;
+
+        Transaction.run(new Runnable() {
+            @Override
+            public void run() {
+                for(BindingGroup viewBindings : ownedBindings) {
+                    viewBindings.resume();
+                }
+            }
+        });
+    }
+
+
+    private void adoptBindings(BindingGroup viewBindings) {
+
+        ownedBindings.add(viewBindings);
+
+        if(bindingsSuspended) {
+            viewBindings.suspend();
+        } else {
+            viewBindings.resume();
+        }
+
+        boolean suspendWhilePaused;
+
+        synchronized (ViewModel.class) {
+            suspendWhilePaused = suspendBindingsWhilePaused;
+        }
+
+        if(suspendWhilePaused && context instanceof Activity) {
+            ActivityLifecycleSuspender.register((Activity) context, this);
+        }
+    }
+
+
+    private void releaseBindings(BindingGroup viewBindings) {
+
+        for(int i = 0; i < ownedBindings.size(); i++) {
+            if(ownedBindings.get(i) == viewBindings) {
+                ownedBindings.remove(i);
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Move the bindings of a recycled view from its previous view model to this view model. Only possible when the bindings
+     * were made from a reusable binding plan, since the bindings of this view model are then identical to those of the previous
+     * view model apart from the view model itself.
+     * @return
+     *          True if the bindings were retargeted. False if they must be unbound and bound again.
+     */
+    private boolean retargetBindings(BindingGroup otherViewBindings, ViewModel otherViewModel) {
+
+        BindingPlan plan = BindingPlan.get(getClass());
+        if(plan == null || !plan.isReusable()) return false;
+
+        for (Binding binding : otherViewBindings) {
+            if(!binding.isBound()) return false;
+            if(binding.getSource() != otherViewModel && binding.getTarget() != otherViewModel) return false;
+        }
+
+        for (Binding binding : otherViewBindings) {
+
+            if(binding.getSource() == otherViewModel) {
+                binding.retarget(this, binding.getTarget());
+            } else {
+                binding.retarget(binding.getSource(), this);
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Returns whether the bindings recorded from {@link #bind()} can be replayed for other instances of this class.
+     * Override this to return true only if bind() does nothing but call bindProperty and bindAction, binds the same
+     * views for every instance, and uses value converters that can be shared between instances.
+     * @return
+     *          False by default.
+     */
+    protected boolean isBindingPlanReusable() {
+        return false;
+    }
+
+
+    private void bindView() {
+
+        if(!isBindingPlanReusable()) {
+            bind();
+            return;
+        }
+
+        Class<?> type = getClass();
+        BindingPlan plan = BindingPlan.get(type);
+
+        if(plan != null) {
+
+            if(plan.isReusable()) {
+                bindings.addAll(plan.apply(this, view));
+            } else {
+                bind();
+            }
+
+            return;
+        }
+
+        recorder = new BindingPlan.Recorder();
+
+        try {
+            bind();
+            BindingPlan.put(type, recorder.compile(isBindingPlanReusable()));
+        } finally {
+            recorder = null;
+        }
+    }
+
+
     /**
      * Create a view corresponding to this view model. Created with a null parent. The View Model is stored as a tag on the root View using
      * {@link org.dbasu.robomvvm.util.ObjectTagger}. This makes sure that the View Model is kept alive as long as the View is alive.
@@ -126,6 +366,9 @@ public class ViewModel extends BaseViewModel {
     /**
      * Create a view corresponding to this view model. The View Model is stored as a tag on the root View using
      * {@link org.dbasu.robomvvm.util.ObjectTagger}. This makes sure that the View Model is kept alive as long as the View is alive.
+     * The views of the layout are indexed by id once, so that binding the view and any later view models it is recycled for
+     * does not search the view tree. The view is taken from the pool of pre-inflated views of the layout if there is one.
+     * See {@link #setPreInflatedViewCount(int, int)}.
      * @param parent
      *          Parent to attach the created view to.
      * @return
@@ -135,10 +378,7 @@ public class ViewModel extends BaseViewModel {
 
         Preconditions.checkArgument(ThreadUtil.isUiThread(), "ViewModel.createView can only be called from the UI thread");
 
-        int layoutId = getLayoutId();
-
-        LayoutInflater inflater = (LayoutInflater) context.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-        View viewToConvert = inflater.inflate(layoutId, parent, false);
+        View viewToConvert = ViewPool.createView(context, getLayoutId(), parent);
 
         ObjectTagger.setTag(viewToConvert, VIEW_MODEL, this);
 
@@ -158,23 +398,37 @@ public class ViewModel extends BaseViewModel {
      *          The value converter to use for conversion.
      * @param bindMode
      *          The bind mode to use.
+     * @param equalityStrategy
+     *          The equality strategy used to skip redundant writes.
+     * @param rateLimit
+     *          The rate limit applied to changes in either direction.
      * @return
      *          The created binding.
      */
     @Override
-    protected final Binding bindProperty(String property, int viewId, String viewProperty, ValueConverter valueConverter, BindMode bindMode) {
+    protected final Binding bindProperty(String property, int viewId, String viewProperty, ValueConverter<?, ?> valueConverter,
+                                         BindMode bindMode, EqualityStrategy equalityStrategy, RateLimit rateLimit) {
 
         Preconditions.checkArgument(ThreadUtil.isUiThread(), "ViewModel.bindProperty can only be called from the UI thread");
         Preconditions.checkNotNull(property);
         Preconditions.checkNotNull(viewProperty);
         Preconditions.checkNotNull(valueConverter);
         Preconditions.checkNotNull(bindMode);
+        Preconditions.checkNotNull(equalityStrategy);
+        Preconditions.checkNotNull(rateLimit);
 
-        View targetView = view.findViewById(viewId);
+        View targetView = ViewIndex.findViewById(view, viewId);
         ComponentAdapter adapter = ComponentAdapter.get(targetView);
-        Binding binding = Binding.bindProperty(this, property, adapter, viewProperty, valueConverter, bindMode);
+        PropertyAccessor sourceAccessor = getPropertyAccessor(property);
+        PropertyAccessor targetAccessor = adapter.getPropertyAccessor(viewProperty);
+
+        Binding binding = Binding.bindProperty(this, sourceAccessor, adapter, targetAccessor, valueConverter, bindMode, equalityStrategy, rateLimit);
         bindings.add(binding);
 
+        if(recorder != null) {
+            recorder.recordProperty(view, targetView, viewId, sourceAccessor, targetAccessor, valueConverter, bindMode, equalityStrategy, rateLimit);
+        }
+
         return binding;
     }
 
@@ -187,20 +441,28 @@ public class ViewModel extends BaseViewModel {
      *          The event arg class to bind.
      * @param action
      *          The action of the target view.
+     * @param rateLimit
+     *          The rate limit applied to invocations of the action.
      * @return
      *          The created binding.
      */
     @Override
-    protected Binding bindAction(int viewId, Class<? extends EventArg> eventType, String action) {
+    protected Binding bindAction(int viewId, Class<? extends EventArg> eventType, String action, RateLimit rateLimit) {
 
         Preconditions.checkArgument(ThreadUtil.isUiThread(), "ViewModel.bindAction can only be called from the UI thread");
         Preconditions.checkNotNull(eventType);
         Preconditions.checkNotNull(action);
+        Preconditions.checkNotNull(rateLimit);
 
-        View targetView = view.findViewById(viewId);
+        View targetView = ViewIndex.findViewById(view, viewId);
         ComponentAdapter adapter = ComponentAdapter.get(targetView);
-        Binding binding =  Binding.bindAction(adapter, this, eventType, action);
+        Binding binding =  Binding.bindAction(adapter, this, eventType, action, rateLimit);
         bindings.add(binding);
+
+        if(recorder != null) {
+            recorder.recordAction(view, targetView, viewId, eventType, action, rateLimit);
+        }
+
         return binding;
     }
 
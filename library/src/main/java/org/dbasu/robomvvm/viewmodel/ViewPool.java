@@ -0,0 +1,313 @@
+/**
+ * @project RoboMVVM
+ * @project RoboMVVM(https://github.com/debdattabasu/RoboMVVM)
+ * @author Debdatta Basu
+ *
+ * @license 3-clause BSD license(http://opensource.org/licenses/BSD-3-Clause).
+ *      Copyright (c) 2014, Debdatta Basu. All rights reserved.
+ *
+ *      Redistribution and use in source and binary forms, with or without modification, are permitted provided that
+ *      the following conditions are met:
+ *
+ *          1. Redistributions of source code must retain the above copyright notice, this list of
+ *             conditions and the following disclaimer.
+ *
+ *          2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ *             conditions and the following disclaimer in the documentation and/or other materials
+ *             provided with the distribution.
+ *
+ *          3. Neither the name of the copyright holder nor the names of its contributors may be used
+ *             to endorse or promote products derived from this software without specific prior
+ *             written permission.
+ *
+ *      THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES,
+ *      INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ *      IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ *      OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ *      OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *      OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ *      POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.dbasu.robomvvm.viewmodel;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Bundle;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Package private class that inflates the layouts of view models. Layouts with a pool size set using
+ * {@link ViewModel#setPreInflatedViewCount(int, int)} keep pools of views inflated ahead of need while the UI thread is
+ * idle, so that views created in the middle of scrolling are taken from a pool instead of being inflated. There is one pool
+ * for every parent a layout is created for, holding views inflated with the context of the latest view created for that parent.
+ * Must be used from the UI thread.
+ */
+final class ViewPool implements MessageQueue.IdleHandler {
+
+    private static final Map<Integer, Integer> sizes = new HashMap<Integer, Integer>();
+    private static final Map<Integer, List<ViewPool>> pools = new HashMap<Integer, List<ViewPool>>();
+    private static final Set<Application> registeredApplications = new HashSet<Application>();
+
+    private final int layoutId;
+    private final WeakReference<ViewGroup> parent;
+    private final boolean hasParent;
+
+    private final ArrayDeque<View> views = new ArrayDeque<View>();
+    private Context context = null;
+    private boolean filling = false;
+
+    private ViewPool(int layoutId, ViewGroup parent) {
+        this.layoutId = layoutId;
+        this.parent = new WeakReference<ViewGroup>(parent);
+        this.hasParent = parent != null;
+    }
+
+    /**
+     * Sets the number of views of a layout that are kept inflated ahead of need, for every parent the layout is created for.
+     * @param layoutId
+     *          The layout resource id.
+     * @param size
+     *          The number of views to keep. Zero disables the pools of the layout and drops their views.
+     */
+    static void setSize(int layoutId, int size) {
+
+        if(size == 0) {
+            sizes.remove(layoutId);
+            List<ViewPool> layoutPools = pools.remove(layoutId);
+
+            if(layoutPools != null) {
+                for(ViewPool pool : layoutPools) pool.clear();
+            }
+
+            return;
+        }
+
+        sizes.put(layoutId, size);
+
+        List<ViewPool> layoutPools = pools.get(layoutId);
+        if(layoutPools == null) return;
+
+        for(ViewPool pool : layoutPools) {
+            while (pool.views.size() > size) pool.views.poll();
+        }
+    }
+
+    /**
+     * Create a view of a layout, indexed using {@link ViewIndex}. The view is taken from the pool of the layout and parent if it
+     * holds a view inflated with the same context, and inflated otherwise. The pool is then refilled during idle time.
+     * @param context
+     *          The context to inflate the view with.
+     * @param layoutId
+     *          The layout resource id.
+     * @param parent
+     *          The parent whose layout params the view is inflated for. May be null.
+     * @return
+     *          The created view.
+     */
+    static View createView(Context context, int layoutId, ViewGroup parent) {
+
+        if(!sizes.containsKey(layoutId)) return inflate(context, layoutId, parent);
+
+        ViewPool pool = getPool(layoutId, parent);
+
+        if(pool.context != context) {
+            pool.views.clear();
+            pool.context = context;
+            registerApplication(context);
+        }
+
+        View ret = pool.views.poll();
+
+        if(ret == null) {
+            ret = inflate(context, layoutId, parent);
+        }
+
+        pool.startFilling();
+        return ret;
+    }
+
+    /**
+     * Gets the pool of a layout for a parent, creating it if needed. Pools whose parent has been collected are dropped.
+     */
+    private static ViewPool getPool(int layoutId, ViewGroup parent) {
+
+        List<ViewPool> layoutPools = pools.get(layoutId);
+
+        if(layoutPools == null) {
+            layoutPools = new ArrayList<ViewPool>();
+            pools.put(layoutId, layoutPools);
+        }
+
+        ViewPool ret = null;
+
+        for(Iterator<ViewPool> it = layoutPools.iterator(); it.hasNext(); ) {
+            ViewPool pool = it.next();
+
+            if(pool.isParentCollected()) {
+                pool.clear();
+                it.remove();
+            } else if(pool.parent.get() == parent) {
+                ret = pool;
+            }
+        }
+
+        if(ret == null) {
+            ret = new ViewPool(layoutId, parent);
+            layoutPools.add(ret);
+        }
+
+        return ret;
+    }
+
+    private static View inflate(Context context, int layoutId, ViewGroup parent) {
+
+        LayoutInflater inflater = (LayoutInflater) context.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
+        View ret = inflater.inflate(layoutId, parent, false);
+
+        ViewIndex.build(ret);
+        return ret;
+    }
+
+    private boolean isParentCollected() {
+        return hasParent && parent.get() == null;
+    }
+
+    private void clear() {
+        views.clear();
+        context = null;
+    }
+
+    private void startFilling() {
+
+        if(filling || views.size() >= getSize()) return;
+
+        filling = true;
+        Looper.myQueue().addIdleHandler(this);
+    }
+
+    private int getSize() {
+        Integer ret = sizes.get(layoutId);
+        return ret == null ? 0 : ret;
+    }
+
+    /**
+     * Inflates one view each time the UI thread is idle, until the pool is full.
+     */
+    @Override
+    public boolean queueIdle() {
+
+        int size = getSize();
+
+        if(context == null || isParentCollected() || views.size() >= size) {
+            filling = false;
+            return false;
+        }
+
+        views.add(inflate(context, layoutId, parent.get()));
+
+        filling = views.size() < size;
+        return filling;
+    }
+
+
+    /**
+     * Finds the activity a context belongs to, unwrapping context wrappers such as themed contexts.
+     * @return
+     *          The activity, or null if the context does not belong to one.
+     */
+    private static Activity getActivity(Context context) {
+
+        while (context instanceof ContextWrapper) {
+
+            if(context instanceof Activity) return (Activity) context;
+
+            Context baseContext = ((ContextWrapper) context).getBaseContext();
+            if(baseContext == context) break;
+
+            context = baseContext;
+        }
+
+        return null;
+    }
+
+    private static void registerApplication(Context context) {
+
+        Activity activity = getActivity(context);
+        if(activity == null) return;
+
+        Application application = activity.getApplication();
+
+        if(application != null && registeredApplications.add(application)) {
+            application.registerActivityLifecycleCallbacks(new ActivityReleaser());
+        }
+    }
+
+    /**
+     * Drops the pooled views of destroyed activities.
+     */
+    private static class ActivityReleaser implements Application.ActivityLifecycleCallbacks {
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {
+
+            for(List<ViewPool> layoutPools : pools.values()) {
+                for(Iterator<ViewPool> it = layoutPools.iterator(); it.hasNext(); ) {
+                    ViewPool pool = it.next();
+
+                    if(pool.context != null && getActivity(pool.context) == activity) {
+                        pool.clear();
+                        it.remove();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+
+        }
+
+        @Override
+        public void onActivityStarted(Activity activity) {
+
+        }
+
+        @Override
+        public void onActivityResumed(Activity activity) {
+
+        }
+
+        @Override
+        public void onActivityPaused(Activity activity) {
+
+        }
+
+        @Override
+        public void onActivityStopped(Activity activity) {
+
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+
+        }
+    }
+}
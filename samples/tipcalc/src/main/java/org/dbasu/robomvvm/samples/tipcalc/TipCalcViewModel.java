@@ -35,13 +35,14 @@ import android.content.Context;
 
 import org.dbasu.robomvvm.annotation.SetLayout;
 import org.dbasu.robomvvm.binding.BindMode;
-import org.dbasu.robomvvm.binding.TypedValueConverter;
 import org.dbasu.robomvvm.binding.ValueConverter;
+import org.dbasu.robomvvm.binding.ValueConverterRegistry;
+import org.dbasu.robomvvm.componentmodel.ComputedProperty;
 import org.dbasu.robomvvm.viewmodel.ViewModel;
 
 /**
  * TipCalc Sample. Calculates tip based on subtotal and generosity. Demonstrates the use of
- * two-way bindings with value conversion.
+ * two-way bindings with value conversion, and of computed properties.
  */
 @SetLayout(R.layout.tipcalc_layout)
 public class TipCalcViewModel extends ViewModel {
@@ -49,7 +50,15 @@ public class TipCalcViewModel extends ViewModel {
     private float subTotal = 0.0f;
     private float generosity = 10.0f ;
 
-    private float tip = 0.0f;
+    /**
+     * Recomputed only when subTotal or generosity change.
+     */
+    private final ComputedProperty<Float> tip = new ComputedProperty<Float>(this, "tip") {
+        @Override
+        protected Float compute() {
+            return (Float) getProperty("subTotal") * (Float) getProperty("generosity") / 100;
+        }
+    };
 
     public TipCalcViewModel(Context context) {
         super(context);
@@ -62,7 +71,6 @@ public class TipCalcViewModel extends ViewModel {
     public void setSubTotal(float subTotal) {
         this.subTotal = subTotal;
         raisePropertyChangeEvent("subTotal");
-        recalculate();
     }
 
     public float getGenerosity() {
@@ -72,73 +80,54 @@ public class TipCalcViewModel extends ViewModel {
     public void setGenerosity(float generosity) {
         this.generosity = generosity;
         raisePropertyChangeEvent("generosity");
-        recalculate();
 
     }
 
     public float getTip() {
-        return tip;
-    }
-
-    public void setTip(float tip) {
-        this.tip = tip;
-        raisePropertyChangeEvent("tip");
-    }
-
-    private void recalculate() {
-        setTip(getSubTotal() * getGenerosity() / 100);
+        return tip.get();
     }
 
 
     @Override
     protected void bind() {
 
-        bindProperty("subTotal", R.id.subtotal_edit_text, "text", new ValueConverter() {
+        bindProperty("subTotal", R.id.subtotal_edit_text, "text", new ValueConverter<Float, String>() {
 
             @Override
-            public Object convertToTarget(Object value) {
+            public String convertToTarget(Float value) {
                 return value.toString();
             }
 
             @Override
-            public Object convertToSource(Object value) {
+            public Float convertToSource(String value) {
                 try {
-                    return Float.parseFloat((String) value);
+                    return Float.parseFloat(value);
                 } catch(NumberFormatException e) {
-                    return 0;
+                    return 0f;
                 }
             }
         }, BindMode.BIDIRECTIONAL);
 
 
 
-        bindProperty("generosity", R.id.generosity_seek_bar, "progress", new ValueConverter() {
+        bindProperty("generosity", R.id.generosity_seek_bar, "progress", new ValueConverter<Float, Integer>() {
             @Override
-            public Object convertToTarget(Object value) {
-                float floatVal = (Float) value;
-
-                int ret = (int)(floatVal * 100);
-
-                return ret;
+            public Integer convertToTarget(Float value) {
+                return (int)(value * 100);
             }
 
             @Override
-            public Object convertToSource(Object value) {
-                int intVal = (Integer) value;
-
-                float ret = ((float)intVal) / 100f;
-
-                return ret;
+            public Float convertToSource(Integer value) {
+                return ((float) value) / 100f;
             }
         }, BindMode.BIDIRECTIONAL);
 
 
-        bindProperty("generosity", R.id.generosity_text_view, "text",
-                new TypedValueConverter(Float.class, String.class), BindMode.SOURCE_TO_TARGET);
+        bindProperty("generosity", R.id.generosity_text_view, "text", ValueConverterRegistry.AUTOMATIC, BindMode.SOURCE_TO_TARGET);
 
 
 
-        bindProperty("tip", R.id.tip_text_view, "text",  new TypedValueConverter(Float.class, String.class), BindMode.SOURCE_TO_TARGET);
+        bindProperty("tip", R.id.tip_text_view, "text", ValueConverterRegistry.AUTOMATIC, BindMode.SOURCE_TO_TARGET);
 
     }
 